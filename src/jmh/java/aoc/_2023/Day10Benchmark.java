@@ -0,0 +1,64 @@
+package aoc._2023;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import aoc.FileUtils;
+
+/**
+ * Benchmarks for {@link Day10}, measuring the cost of solving each part
+ * from the already read input. The day has no separate parse step, so each
+ * part includes parsing the lines it needs.
+ * 
+ * @author Paul Cormier
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Day10Benchmark {
+
+    private static final String INPUT_TXT = "input/Day10.txt";
+
+    private List<String> lines;
+
+    @Setup
+    public void readInput() {
+        lines = FileUtils.readFile(INPUT_TXT);
+    }
+
+    /**
+     * Solve part 1 of the puzzle from the already read input.
+     * 
+     * @return The answer, so the work can't be eliminated.
+     */
+    @Benchmark
+    public int part1() {
+        return Day10.part1(lines);
+    }
+
+    /**
+     * Solve part 2 of the puzzle from the already read input.
+     * 
+     * @return The answer, so the work can't be eliminated.
+     */
+    @Benchmark
+    public int part2() {
+        return Day10.part2(lines);
+    }
+
+}
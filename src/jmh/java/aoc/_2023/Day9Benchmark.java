@@ -0,0 +1,103 @@
+package aoc._2023;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import aoc.FileUtils;
+import aoc.MappedLines;
+
+/**
+ * Benchmarks for {@link Day9}, measuring the cost of solving each part
+ * from the already read input, and from the already mapped input. The lines
+ * have no separate parse step, but parsing the mapped input is measured on
+ * its own.
+ * 
+ * @author Paul Cormier
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Day9Benchmark {
+
+    private static final String INPUT_TXT = "input/Day9.txt";
+
+    private List<String> lines;
+
+    private MappedLines mappedLines;
+
+    @Setup
+    public void readInput() {
+        lines = FileUtils.readFile(INPUT_TXT);
+        mappedLines = FileUtils.mapFile(INPUT_TXT);
+    }
+
+    /**
+     * Solve part 1 of the puzzle from the already read input.
+     * 
+     * @return The answer, so the work can't be eliminated.
+     */
+    @Benchmark
+    public int part1() {
+        return Day9.part1(lines);
+    }
+
+    /**
+     * Solve part 2 of the puzzle from the already read input.
+     * 
+     * @return The answer, so the work can't be eliminated.
+     */
+    @Benchmark
+    public int part2() {
+        return Day9.part2(lines);
+    }
+
+    /**
+     * Map the input file and parse the numbers on every line from its bytes.
+     * 
+     * @return The parsed input, so the work can't be eliminated.
+     */
+    @Benchmark
+    public Object parseMapped() {
+        MappedLines mapped = FileUtils.mapFile(INPUT_TXT);
+        int[][] sequences = new int[mapped.lineCount()][];
+        for (int i = 0; i < sequences.length; i++)
+            sequences[i] = mapped.parseInts(i);
+        return sequences;
+    }
+
+    /**
+     * Solve part 1 of the puzzle from the already mapped input.
+     * 
+     * @return The answer, so the work can't be eliminated.
+     */
+    @Benchmark
+    public int part1Mapped() {
+        return Day9.part1(mappedLines);
+    }
+
+    /**
+     * Solve part 2 of the puzzle from the already mapped input.
+     * 
+     * @return The answer, so the work can't be eliminated.
+     */
+    @Benchmark
+    public int part2Mapped() {
+        return Day9.part2(mappedLines);
+    }
+
+}
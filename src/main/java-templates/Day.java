@@ -4,6 +4,7 @@ import java.util.List;
 import org.slf4j.LoggerFactory;
 
 import aoc.FileUtils;
+import aoc.Solver;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
@@ -14,7 +15,7 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day${day} {
+public class Day${day} implements Solver {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day${day}.class);
 
@@ -60,12 +61,27 @@ public class Day${day} {
         log.info("{}", part2(lines));
     }
 
-    private static int part1(final List<String> lines) {
+    @Override
+    public int getDay() {
+        return ${day};
+    }
+
+    @Override
+    public long solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+
+    @Override
+    public long solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+
+    static int part1(final List<String> lines) {
 
         return -1;
     }
 
-    private static int part2(final List<String> lines) {
+    static int part2(final List<String> lines) {
 
         return -1;
     }
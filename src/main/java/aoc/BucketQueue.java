@@ -0,0 +1,132 @@
+package aoc;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A priority queue of int states with small, non-negative int priorities, as
+ * in a breadth first search or Dijkstra's algorithm over a graph whose edges
+ * all weigh between 0 and a small maximum (Dial's algorithm).
+ * <p>
+ * The states are kept in a circular array of buckets, one per priority from
+ * the lowest priority in the queue up to that plus the maximum weight, each
+ * an array of states. Pushing and popping are O(1) (popping skips at most
+ * maxWeight empty buckets), and nothing is allocated per state once the
+ * buckets have grown to fit. The states with the same priority are popped
+ * last in, first out.
+ * <p>
+ * There's no decrease-key. When a search finds a better way to a state that's
+ * already queued, it pushes the state again with the lower priority, and
+ * keeps the best priority of each state itself, e.g. in an int array. When a
+ * state is popped with a higher priority than its best, it's a stale copy,
+ * and is skipped:
+ *
+ * <pre>
+ * while (!queue.isEmpty()) {
+ *     int state = queue.pop();
+ *     if (queue.getPriority() &gt; best[state])
+ *         continue;
+ *     ...
+ * }
+ * </pre>
+ *
+ * @author Paul Cormier
+ *
+ */
+public final class BucketQueue {
+
+    private static final int INITIAL_BUCKET_CAPACITY = 16;
+
+    private final int[][] buckets;
+    private final int[] bucketSizes;
+    private int size;
+
+    /** The lowest priority that could be in the queue, and that of the state last popped. */
+    private int priority;
+
+    /**
+     * @param maxWeight
+     *     The most the priority of a state pushed can be above the lowest
+     *     priority in the queue, i.e. the weight of the heaviest edge.
+     */
+    public BucketQueue(int maxWeight) {
+        if (maxWeight < 0)
+            throw new IllegalArgumentException("Invalid maximum weight: " + maxWeight);
+        buckets = new int[maxWeight + 1][INITIAL_BUCKET_CAPACITY];
+        bucketSizes = new int[maxWeight + 1];
+    }
+
+    /**
+     * @return Whether there are no states in the queue.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return The number of states in the queue, including stale copies.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Add a state to the queue.
+     *
+     * @param state
+     *     The state.
+     * @param statePriority
+     *     Its priority, between that of the state last popped and that plus
+     *     the maximum weight, or any priority if the queue is empty.
+     * @throws IllegalArgumentException
+     *     If the priority is out of that range.
+     */
+    public void push(int state, int statePriority) {
+        if (size == 0)
+            priority = statePriority;
+        else if (statePriority < priority || statePriority - priority >= buckets.length)
+            throw new IllegalArgumentException(String.format("Priority %d is outside %d to %d", statePriority,
+                                                             priority, priority + buckets.length - 1));
+
+        int bucket = statePriority % buckets.length;
+        if (bucketSizes[bucket] == buckets[bucket].length)
+            buckets[bucket] = Arrays.copyOf(buckets[bucket], bucketSizes[bucket] * 2);
+        buckets[bucket][bucketSizes[bucket]++] = state;
+        size++;
+    }
+
+    /**
+     * Remove a state with the lowest priority from the queue. Its priority is
+     * then {@link #getPriority()}.
+     *
+     * @return The state.
+     * @throws NoSuchElementException
+     *     If the queue is empty.
+     */
+    public int pop() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        while (bucketSizes[priority % buckets.length] == 0)
+            priority++;
+        int bucket = priority % buckets.length;
+        size--;
+        return buckets[bucket][--bucketSizes[bucket]];
+    }
+
+    /**
+     * @return The priority of the state last popped.
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * Remove all of the states, keeping the buckets for reuse.
+     */
+    public void clear() {
+        Arrays.fill(bucketSizes, 0);
+        size = 0;
+        priority = 0;
+    }
+
+}
@@ -0,0 +1,185 @@
+package aoc;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A dense grid of characters, backed by a single array, for maps which would
+ * otherwise be a {@link Map} of {@link Coordinate} to {@link Character}.
+ * 
+ * @author Paul Cormier
+ *
+ */
+public final class CharGrid extends Grid {
+
+    private final char[] cells;
+    private final char blankSpace;
+
+    public CharGrid(int rows, int columns, char blankSpace) {
+        super(rows, columns);
+        this.cells = new char[rows * columns];
+        this.blankSpace = blankSpace;
+        Arrays.fill(cells, blankSpace);
+    }
+
+    private CharGrid(CharGrid other) {
+        super(other.rows, other.columns);
+        this.cells = other.cells.clone();
+        this.blankSpace = other.blankSpace;
+    }
+
+    /**
+     * Create a grid of the characters in the given lines. The default blank
+     * character is a period '.'.
+     * 
+     * @param lines
+     *     The lines of the map.
+     * @return A grid of the characters in the lines.
+     */
+    public static CharGrid of(List<String> lines) {
+        return of(lines, '.');
+    }
+
+    /**
+     * Create a grid of the characters in the given lines. Short lines are
+     * padded with the blank character.
+     * 
+     * @param lines
+     *     The lines of the map.
+     * @param blankSpace
+     *     The character to be treated as a blank space.
+     * @return A grid of the characters in the lines.
+     */
+    public static CharGrid of(List<String> lines, char blankSpace) {
+        int columns = lines.stream().mapToInt(String::length).max().orElse(0);
+        CharGrid grid = new CharGrid(lines.size(), columns, blankSpace);
+
+        int start = 0;
+        for (String line : lines) {
+            line.getChars(0, line.length(), grid.cells, start);
+            start += columns;
+        }
+
+        return grid;
+    }
+
+    /**
+     * @return A copy of this grid, which can be modified independently.
+     */
+    public CharGrid copy() {
+        return new CharGrid(this);
+    }
+
+    public char getBlankSpace() {
+        return blankSpace;
+    }
+
+    /**
+     * @return The character at the given row and column.
+     * @throws IndexOutOfBoundsException
+     *     If the row or column is outside the grid.
+     */
+    public char get(int row, int column) {
+        checkBounds(row, column);
+        return cells[index(row, column)];
+    }
+
+    /**
+     * @return The character at the given coordinate.
+     * @throws IndexOutOfBoundsException
+     *     If the coordinate is outside the grid.
+     */
+    public char get(Coordinate coordinate) {
+        return get(coordinate.getRow(), coordinate.getColumn());
+    }
+
+    /**
+     * @return The character at the given row and column, or the blank
+     *     character if it is outside the grid.
+     */
+    public char getOrBlank(int row, int column) {
+        return contains(row, column) ? cells[index(row, column)] : blankSpace;
+    }
+
+    /**
+     * @return The character at the given index, without checking that it is
+     *     inside the grid.
+     */
+    public char get(int index) {
+        return cells[index];
+    }
+
+    /**
+     * Set the character at the given row and column.
+     * 
+     * @throws IndexOutOfBoundsException
+     *     If the row or column is outside the grid.
+     */
+    public void set(int row, int column, char value) {
+        checkBounds(row, column);
+        cells[index(row, column)] = value;
+    }
+
+    /**
+     * Set the character at the given index, without checking that it is
+     * inside the grid.
+     */
+    public void set(int index, char value) {
+        cells[index] = value;
+    }
+
+    /**
+     * @return True if the cell at the given index is blank.
+     */
+    public boolean isBlank(int index) {
+        return cells[index] == blankSpace;
+    }
+
+    /**
+     * @return The index of the first occurrence of the given character, or -1
+     *     if it isn't in the grid.
+     */
+    public int indexOf(char c) {
+        for (int i = 0; i < cells.length; i++)
+            if (cells[i] == c)
+                return i;
+        return -1;
+    }
+
+    /**
+     * @return The number of occurrences of the given character in the grid.
+     */
+    public int count(char c) {
+        int count = 0;
+        for (char cell : cells)
+            if (cell == c)
+                count++;
+        return count;
+    }
+
+    /**
+     * Create a map of the coordinates of non-blank characters, in the same
+     * form as {@link Coordinate#mapCoordinates(List, char)}.
+     * 
+     * @return A map of coordinates to the character found at those
+     *     coordinates.
+     */
+    public Map<Coordinate, Character> toMap() {
+        Map<Coordinate, Character> map = new HashMap<>();
+        for (int i = 0; i < cells.length; i++)
+            if (cells[i] != blankSpace)
+                map.put(coordinateOf(i), cells[i]);
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder printout = new StringBuilder(rows * (columns + 1));
+        for (int start = 0; start < cells.length; start += columns)
+            printout.append(cells, start, columns).append('\n');
+        return printout.toString();
+    }
+
+}
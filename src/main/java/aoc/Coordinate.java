@@ -13,16 +13,61 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import org.apache.commons.lang3.ArrayUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * A coordinate of row and column.
  */
 public final class Coordinate implements Comparable<Coordinate> {
+
+    private static final Logger log = LoggerFactory.getLogger(Coordinate.class);
+
+    /** The most coordinates the cache can hold. */
+    private static final int MAX_CACHE_SIZE = 1 << 22;
+
+    /**
+     * Coordinates whose row and column are both in this range are interned by
+     * {@link #of(int, int)}. The range can be changed with the
+     * aoc.coordinate.cache.low and aoc.coordinate.cache.high system
+     * properties, and setting high below low turns the cache off. A range
+     * too big for {@link #MAX_CACHE_SIZE} is cut short, with a warning.
+     */
+    private static final int CACHE_LOW = Integer.getInteger("aoc.coordinate.cache.low", -1);
+    private static final int CACHE_HIGH = Integer.getInteger("aoc.coordinate.cache.high", 255);
+    private static final int CACHE_SPAN = cacheSpan();
+
+    /**
+     * Filled lazily. A race between threads can at worst create two equal
+     * instances for the same cell, since the fields are final.
+     */
+    private static final Coordinate[] CACHE = new Coordinate[CACHE_SPAN * CACHE_SPAN];
+
+    /**
+     * @return The number of rows and columns in the cache's range, cut short
+     *     if the cache would hold more than {@link #MAX_CACHE_SIZE}
+     *     coordinates.
+     */
+    private static int cacheSpan() {
+        long span = Math.max(0, (long) CACHE_HIGH - CACHE_LOW + 1);
+        try {
+            if (Math.multiplyExact(span, span) <= MAX_CACHE_SIZE)
+                return (int) span;
+        } catch (ArithmeticException e) {
+            // Far too big, so cut short below
+        }
+
+        int maxSpan = (int) Math.sqrt(MAX_CACHE_SIZE);
+        log.warn("The Coordinate cache from {} to {} is too big, so only caching from {} to {}", CACHE_LOW,
+                 CACHE_HIGH, CACHE_LOW, (long) CACHE_LOW + maxSpan - 1);
+        return maxSpan;
+    }
+
     private final int row;
     private final int column;
     private final int hashCode;
 
-    public Coordinate(int row, int column) {
+    private Coordinate(int row, int column) {
         this.row = row;
         this.column = column;
         this.hashCode = computeHashCode();
@@ -36,32 +81,123 @@ public final class Coordinate implements Comparable<Coordinate> {
         return column;
     }
 
+    /**
+     * Get the coordinate of the given row and column. Coordinates near the
+     * origin are cached, so asking for the same one again returns the same
+     * instance rather than allocating a new one.
+     * 
+     * @param row
+     *     The row of the coordinate.
+     * @param column
+     *     The column of the coordinate.
+     * @return The coordinate of the given row and column.
+     */
     public static Coordinate of(int row, int column) {
-        return new Coordinate(row, column);
+        int r = row - CACHE_LOW;
+        int c = column - CACHE_LOW;
+        // Unsigned comparison checks both ends of the range at once
+        if (Integer.compareUnsigned(r, CACHE_SPAN) >= 0 || Integer.compareUnsigned(c, CACHE_SPAN) >= 0)
+            return new Coordinate(row, column);
+
+        int index = r * CACHE_SPAN + c;
+        Coordinate coordinate = CACHE[index];
+        if (coordinate == null) {
+            coordinate = new Coordinate(row, column);
+            CACHE[index] = coordinate;
+        }
+        return coordinate;
     }
 
     /**
      * @return The set of adjacent coordinates to this coordinate.
      */
     public Set<Coordinate> findAdjacent() {
-        return IntStream.rangeClosed(-1, 1)
-                        .mapToObj(x -> IntStream.rangeClosed(-1, 1)
-                                                .filter(y -> !(x == 0 && y == 0))
-                                                .mapToObj(y -> Coordinate.of(this.row + y, this.column + x)))
-                        .flatMap(Function.identity())
-                        .collect(Collectors.toSet());
+        Set<Coordinate> adjacent = new HashSet<>();
+        forEachAdjacent((r, c) -> adjacent.add(Coordinate.of(r, c)));
+        return adjacent;
     }
 
     /**
      * @return The set of orthogonally adjacent coordinates to this coordinate.
      */
     public Set<Coordinate> findOrthogonalAdjacent() {
-        return IntStream.rangeClosed(-1, 1)
-                        .mapToObj(x -> IntStream.rangeClosed(-1, 1)
-                                                .filter(y -> x == 0 ^ y == 0)
-                                                .mapToObj(y -> Coordinate.of(this.row + y, this.column + x)))
-                        .flatMap(Function.identity())
-                        .collect(Collectors.toSet());
+        Set<Coordinate> adjacent = new HashSet<>();
+        forEachOrthogonal((r, c) -> adjacent.add(Coordinate.of(r, c)));
+        return adjacent;
+    }
+
+    /**
+     * Perform the given action on the row and column of each of the 8 adjacent
+     * coordinates to this coordinate, without allocating anything.
+     * 
+     * @param action
+     *     The action to perform on each adjacent row and column.
+     */
+    public void forEachAdjacent(IntBinaryConsumer action) {
+        forEachAdjacent(row, column, action);
+    }
+
+    /**
+     * Perform the given action on the row and column of each of the 8 adjacent
+     * coordinates to the given row and column, without allocating anything.
+     * 
+     * @param row
+     *     The row of the centre coordinate.
+     * @param column
+     *     The column of the centre coordinate.
+     * @param action
+     *     The action to perform on each adjacent row and column.
+     */
+    public static void forEachAdjacent(int row, int column, IntBinaryConsumer action) {
+        for (int r = row - 1; r <= row + 1; r++)
+            for (int c = column - 1; c <= column + 1; c++)
+                if (r != row || c != column)
+                    action.accept(r, c);
+    }
+
+    /**
+     * Perform the given action on the row and column of each of the 4
+     * orthogonally adjacent coordinates to this coordinate, in the order of
+     * {@link Direction}, without allocating anything.
+     * 
+     * @param action
+     *     The action to perform on each orthogonally adjacent row and column.
+     */
+    public void forEachOrthogonal(IntBinaryConsumer action) {
+        forEachOrthogonal(row, column, action);
+    }
+
+    /**
+     * Perform the given action on the row and column of each of the 4
+     * orthogonally adjacent coordinates to the given row and column, in the
+     * order of {@link Direction}, without allocating anything.
+     * 
+     * @param row
+     *     The row of the centre coordinate.
+     * @param column
+     *     The column of the centre coordinate.
+     * @param action
+     *     The action to perform on each orthogonally adjacent row and column.
+     */
+    public static void forEachOrthogonal(int row, int column, IntBinaryConsumer action) {
+        for (int d = 0; d < Direction.ROW_OFFSETS.length; d++)
+            action.accept(row + Direction.ROW_OFFSETS[d], column + Direction.COLUMN_OFFSETS[d]);
+    }
+
+    /**
+     * @return The Manhattan distance from this coordinate to the other one,
+     *     i.e. the number of orthogonal steps between them.
+     */
+    public int manhattanDistance(Coordinate other) {
+        return manhattanDistance(row, column, other.row, other.column);
+    }
+
+    /**
+     * @return The Manhattan distance between the two rows and columns, without
+     *     allocating a {@link Coordinate} for either.
+     */
+    public static int manhattanDistance(int row, int column, int otherRow, int otherColumn) {
+        return Math.abs(row - otherRow) + Math.abs(column - otherColumn);
     }
 
     /**
@@ -131,7 +267,7 @@ public final class Coordinate implements Comparable<Coordinate> {
                      .forEach(i -> {
                          char digit = line.charAt(i);
                          if (Character.isDigit(digit))
-                             coordinates.put(new Coordinate(row.get(), i + 1), digit - '0');
+                             coordinates.put(Coordinate.of(row.get(), i + 1), digit - '0');
                      });
 
             row.getAndIncrement();
@@ -213,7 +349,7 @@ public final class Coordinate implements Comparable<Coordinate> {
         for (String line : lines) {
             coordinates.addAll(ArrayUtils.indexesOf(line.toCharArray(), charToFind)
                                          .stream()
-                                         .mapToObj(c -> new Coordinate(row.get(), c + 1))
+                                         .mapToObj(c -> Coordinate.of(row.get(), c + 1))
                                          .collect(Collectors.toSet()));
             row.getAndIncrement();
         }
@@ -240,7 +376,7 @@ public final class Coordinate implements Comparable<Coordinate> {
         StringBuilder printout = new StringBuilder(rows * columns + rows);
 
         while (location < (rows + 1) * columns) {
-            printout.append((char) (coordinates.getOrDefault(new Coordinate(location / columns, location % columns + 1),
+            printout.append((char) (coordinates.getOrDefault(Coordinate.of(location / columns, location % columns + 1),
                                                              '.' - '0')
                                     +
                                     '0'));
@@ -357,7 +493,7 @@ public final class Coordinate implements Comparable<Coordinate> {
         StringBuilder printout = new StringBuilder(rows * columns + rows);
 
         while (location < (rows + 1) * columns) {
-            printout.append(coordinates.getOrDefault(new Coordinate(location / columns, location % columns + 1), '.'));
+            printout.append(coordinates.getOrDefault(Coordinate.of(location / columns, location % columns + 1), '.'));
 
             if (location % columns == columns - 1)
                 printout.append('\n');
@@ -478,7 +614,7 @@ public final class Coordinate implements Comparable<Coordinate> {
         StringBuilder printout = new StringBuilder(rows * columns + rows);
 
         while (location < (rows + 1) * columns) {
-            Coordinate coordinate = new Coordinate(location / columns, location % columns + 1);
+            Coordinate coordinate = Coordinate.of(location / columns, location % columns + 1);
             char marker = '.';
             if (firstCoordinates.contains(coordinate))
                 marker = firstMarker;
@@ -6,16 +6,62 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 /**
  * A coordinate of row, column, and height.
  */
 public final class Coordinate3D implements Comparable<Coordinate3D> {
+
+    private static final Logger log = LoggerFactory.getLogger(Coordinate3D.class);
+
+    /** The most coordinates the cache can hold. */
+    private static final int MAX_CACHE_SIZE = 1 << 22;
+
+    /**
+     * Coordinates whose row, column and height are all in this range are
+     * interned by {@link #of(int, int, int)}. The range can be changed with the
+     * aoc.coordinate3d.cache.low and aoc.coordinate3d.cache.high system
+     * properties, and setting high below low turns the cache off. A range
+     * too big for {@link #MAX_CACHE_SIZE} is cut short, with a warning.
+     */
+    private static final int CACHE_LOW = Integer.getInteger("aoc.coordinate3d.cache.low", -1);
+    private static final int CACHE_HIGH = Integer.getInteger("aoc.coordinate3d.cache.high", 63);
+    private static final int CACHE_SPAN = cacheSpan();
+
+    /**
+     * Filled lazily. A race between threads can at worst create two equal
+     * instances for the same cell, since the fields are final.
+     */
+    private static final Coordinate3D[] CACHE = new Coordinate3D[CACHE_SPAN * CACHE_SPAN * CACHE_SPAN];
+
+    /**
+     * @return The number of rows, columns and heights in the cache's range,
+     *     cut short if the cache would hold more than
+     *     {@link #MAX_CACHE_SIZE} coordinates.
+     */
+    private static int cacheSpan() {
+        long span = Math.max(0, (long) CACHE_HIGH - CACHE_LOW + 1);
+        try {
+            if (Math.multiplyExact(Math.multiplyExact(span, span), span) <= MAX_CACHE_SIZE)
+                return (int) span;
+        } catch (ArithmeticException e) {
+            // Far too big, so cut short below
+        }
+
+        int maxSpan = (int) Math.cbrt(MAX_CACHE_SIZE);
+        log.warn("The Coordinate3D cache from {} to {} is too big, so only caching from {} to {}", CACHE_LOW,
+                 CACHE_HIGH, CACHE_LOW, (long) CACHE_LOW + maxSpan - 1);
+        return maxSpan;
+    }
+
     private final int row;
     private final int column;
     private final int height;
     private final int hashCode;
 
-    public Coordinate3D(int row, int column, int height) {
+    private Coordinate3D(int row, int column, int height) {
         this.row = row;
         this.column = column;
         this.height = height;
@@ -34,8 +80,35 @@ public final class Coordinate3D implements Comparable<Coordinate3D> {
         return height;
     }
 
+    /**
+     * Get the coordinate of the given row, column and height. Coordinates near
+     * the origin are cached, so asking for the same one again returns the same
+     * instance rather than allocating a new one.
+     * 
+     * @param row
+     *     The row of the coordinate.
+     * @param column
+     *     The column of the coordinate.
+     * @param height
+     *     The height of the coordinate.
+     * @return The coordinate of the given row, column and height.
+     */
     public static Coordinate3D of(int row, int column, int height) {
-        return new Coordinate3D(row, column, height);
+        int r = row - CACHE_LOW;
+        int c = column - CACHE_LOW;
+        int h = height - CACHE_LOW;
+        // Unsigned comparison checks both ends of the range at once
+        if (Integer.compareUnsigned(r, CACHE_SPAN) >= 0 || Integer.compareUnsigned(c, CACHE_SPAN) >= 0
+            || Integer.compareUnsigned(h, CACHE_SPAN) >= 0)
+            return new Coordinate3D(row, column, height);
+
+        int index = (r * CACHE_SPAN + c) * CACHE_SPAN + h;
+        Coordinate3D coordinate = CACHE[index];
+        if (coordinate == null) {
+            coordinate = new Coordinate3D(row, column, height);
+            CACHE[index] = coordinate;
+        }
+        return coordinate;
     }
 
     /**
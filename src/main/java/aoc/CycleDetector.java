@@ -0,0 +1,270 @@
+package aoc;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Finds where a simulation, which goes from one state to the next by a fixed
+ * step, starts repeating itself, so that any later state can be found without
+ * running the simulation that far.
+ * <p>
+ * The states are x0, x1 = step(x0), x2 = step(x1) and so on. If the number of
+ * distinct states is finite, eventually x(mu + lambda) = x(mu), for the
+ * smallest such mu (the first state in the loop) and lambda (the length of
+ * the loop).
+ * <p>
+ * The step mustn't change the state it's given, as both algorithms hold on to
+ * more than one state at once.
+ *
+ * @param <S>
+ *     The type of the states of the simulation.
+ *
+ * @author Paul Cormier
+ *
+ */
+public final class CycleDetector<S> {
+
+    private final S start;
+    private final UnaryOperator<S> step;
+    private ToLongFunction<S> fingerprint;
+    private BiPredicate<S, S> equality;
+    private long stepLimit = Long.MAX_VALUE;
+
+    /**
+     * A loop found in the states of a simulation.
+     *
+     * @param <S>
+     *     The type of the states of the simulation.
+     */
+    public static final class Cycle<S> {
+        private final S start;
+        private final UnaryOperator<S> step;
+        private final long mu;
+        private final long lambda;
+
+        private Cycle(S start, UnaryOperator<S> step, long mu, long lambda) {
+            this.start = start;
+            this.step = step;
+            this.mu = mu;
+            this.lambda = lambda;
+        }
+
+        /**
+         * @return mu, the number of steps before the first state in the loop.
+         */
+        public long getStart() {
+            return mu;
+        }
+
+        /**
+         * @return lambda, the number of steps in the loop.
+         */
+        public long getLength() {
+            return lambda;
+        }
+
+        /**
+         * @return The smallest number of steps which reaches the same state
+         *     as the given number of steps.
+         */
+        public long equivalentSteps(long steps) {
+            return steps < mu ? steps : mu + (steps - mu) % lambda;
+        }
+
+        /**
+         * Find the state after the given number of steps, by only running the
+         * simulation as far as the first state in the loop that's the same.
+         *
+         * @param steps
+         *     The number of steps from the initial state.
+         * @return The state after that many steps.
+         */
+        public S stateAt(long steps) {
+            S state = start;
+            for (long i = equivalentSteps(steps); i > 0; i--)
+                state = step.apply(state);
+            return state;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Cycle [mu=%d, lambda=%d]", mu, lambda);
+        }
+    }
+
+    private CycleDetector(S start, UnaryOperator<S> step) {
+        this.start = start;
+        this.step = step;
+    }
+
+    /**
+     * @param <S>
+     *     The type of the states of the simulation.
+     * @param start
+     *     The initial state, x0.
+     * @param step
+     *     Creates the next state from a state, without changing it.
+     * @return A detector for the simulation, by default comparing states with
+     *     {@link Object#equals(Object)}.
+     */
+    public static <S> CycleDetector<S> of(S start, UnaryOperator<S> step) {
+        return new CycleDetector<>(start, step);
+    }
+
+    /**
+     * Use a cheap fingerprint, e.g. a Zobrist hash, to tell states apart.
+     * States with different fingerprints are never compared, and
+     * {@link #hashing()} only keeps the fingerprints of the states it's seen,
+     * not the states themselves.
+     *
+     * @param fingerprint
+     *     A function which gives equal states the same fingerprint.
+     * @return This detector.
+     */
+    public CycleDetector<S> withFingerprint(ToLongFunction<S> fingerprint) {
+        this.fingerprint = fingerprint;
+        return this;
+    }
+
+    /**
+     * Compare states with the given function, rather than
+     * {@link Object#equals(Object)}, e.g. for states which are arrays.
+     *
+     * @return This detector.
+     */
+    public CycleDetector<S> withEquality(BiPredicate<S, S> equality) {
+        this.equality = equality;
+        return this;
+    }
+
+    /**
+     * Give up if no loop has been found after the given number of steps.
+     *
+     * @return This detector.
+     */
+    public CycleDetector<S> withStepLimit(long stepLimit) {
+        this.stepLimit = stepLimit;
+        return this;
+    }
+
+    /**
+     * Find the loop with Brent's algorithm, which only holds two states at a
+     * time, however long the simulation runs before it repeats. It takes
+     * roughly twice as many steps as {@link #hashing()}.
+     *
+     * @return The loop.
+     * @throws IllegalStateException
+     *     If the step limit is reached before a loop is found.
+     */
+    public Cycle<S> brent() {
+        // Find lambda: move the tortoise up to the hare at each power of two, until the hare catches it
+        long power = 1;
+        long lambda = 1;
+        long steps = 1;
+        S tortoise = start;
+        S hare = step.apply(start);
+        while (!same(tortoise, hare)) {
+            if (power == lambda) {
+                tortoise = hare;
+                power *= 2;
+                lambda = 0;
+            }
+            hare = step.apply(hare);
+            lambda++;
+            checkStepLimit(++steps);
+        }
+
+        // Find mu: start the hare lambda ahead of the tortoise, and move them together until they meet
+        tortoise = start;
+        hare = start;
+        for (long i = 0; i < lambda; i++)
+            hare = step.apply(hare);
+        long mu = 0;
+        while (!same(tortoise, hare)) {
+            tortoise = step.apply(tortoise);
+            hare = step.apply(hare);
+            mu++;
+        }
+
+        return new Cycle<>(start, step, mu, lambda);
+    }
+
+    /**
+     * Find the loop by remembering every state seen (or only its fingerprint,
+     * if there's one) until one repeats. This takes the fewest steps, but
+     * memory in proportion to mu + lambda. If there's a fingerprint, a repeat
+     * is checked by running the simulation again up to the earlier state, so
+     * a fingerprint collision can't give the wrong loop. Otherwise the states
+     * are kept in a {@link HashMap}, so they need their own
+     * {@link Object#hashCode()} and {@link Object#equals(Object)}.
+     *
+     * @return The loop.
+     * @throws IllegalStateException
+     *     If the step limit is reached before a loop is found, or there's a
+     *     custom equality but no fingerprint to hash the states with.
+     */
+    public Cycle<S> hashing() {
+        return fingerprint == null ? hashingStates() : hashingFingerprints();
+    }
+
+    private Cycle<S> hashingStates() {
+        if (equality != null)
+            throw new IllegalStateException("States compared with a custom equality need a fingerprint to hash them");
+
+        Map<S, Long> seenAt = new HashMap<>();
+        S state = start;
+        for (long steps = 0;; steps++) {
+            Long first = seenAt.putIfAbsent(state, steps);
+            if (first != null)
+                return new Cycle<>(start, step, first, steps - first);
+            checkStepLimit(steps + 1);
+            state = step.apply(state);
+        }
+    }
+
+    private Cycle<S> hashingFingerprints() {
+        Map<Long, Long> seenAt = new HashMap<>();
+        // The later steps with the same fingerprint as an earlier, but different, state
+        Map<Long, List<Long>> collisions = new HashMap<>();
+        S state = start;
+        for (long steps = 0;; steps++) {
+            long print = fingerprint.applyAsLong(state);
+            Long first = seenAt.putIfAbsent(print, steps);
+            if (first != null) {
+                List<Long> earlierSteps = new ArrayList<>();
+                earlierSteps.add(first);
+                earlierSteps.addAll(collisions.getOrDefault(print, List.of()));
+                for (long earlier : earlierSteps) {
+                    Cycle<S> cycle = new Cycle<>(start, step, earlier, steps - earlier);
+                    if (equal(cycle.stateAt(earlier), state))
+                        return cycle;
+                }
+                collisions.computeIfAbsent(print, p -> new ArrayList<>()).add(steps);
+            }
+            checkStepLimit(steps + 1);
+            state = step.apply(state);
+        }
+    }
+
+    private boolean same(S first, S second) {
+        if (fingerprint != null && fingerprint.applyAsLong(first) != fingerprint.applyAsLong(second))
+            return false;
+        return equal(first, second);
+    }
+
+    private boolean equal(S first, S second) {
+        return equality != null ? equality.test(first, second) : Objects.equals(first, second);
+    }
+
+    private void checkStepLimit(long steps) {
+        if (steps > stepLimit)
+            throw new IllegalStateException(String.format("No cycle found in %d steps", stepLimit));
+    }
+
+}
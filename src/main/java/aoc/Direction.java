@@ -11,6 +11,17 @@ public enum Direction {
     LEFT('<', 'L', Coordinate.of(0, -1)),
     UP('^', 'U', Coordinate.of(-1, 0));
 
+    /**
+     * The change in row for each direction, by ordinal, for code which walks
+     * grids without allocating a translation {@link Coordinate}.
+     */
+    public static final int[] ROW_OFFSETS = { 0, 1, 0, -1 };
+
+    /**
+     * The change in column for each direction, by ordinal.
+     */
+    public static final int[] COLUMN_OFFSETS = { 1, 0, -1, 0 };
+
     private final char symbol;
     private final char letter;
     private final Coordinate translation;
@@ -0,0 +1,70 @@
+package aoc;
+
+import java.util.OptionalLong;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Predicts a far off value of a function from a few samples of it, for
+ * puzzles where the answer grows in a regular way, e.g. the number of cells
+ * reached after n steps on a map which repeats every p cells.
+ *
+ * @author Paul Cormier
+ *
+ */
+public final class Extrapolation {
+
+    /**
+     * Utility classes have private constructors.
+     */
+    private Extrapolation() {
+    }
+
+    /**
+     * Predict f(target), if f is a quadratic in k at x = offset + k * period.
+     * <p>
+     * f is sampled at k = 0, 1 and 2, and the quadratic through those
+     * samples, from their finite differences, gives f at any k. It's only
+     * trusted if it also gives f at k = 3, in case f isn't quadratic yet (or
+     * at all) from the offset.
+     *
+     * @param f
+     *     The function to sample.
+     * @param offset
+     *     The first x to sample f at.
+     * @param period
+     *     How far apart to sample f.
+     * @param target
+     *     The x to predict f at, which must be a whole number of periods after
+     *     the offset.
+     * @return The prediction, or empty if the fourth sample doesn't fit the
+     *     quadratic.
+     * @throws IllegalArgumentException
+     *     If the target isn't a whole number of periods after the offset.
+     */
+    public static OptionalLong quadratic(final LongUnaryOperator f, final long offset, final long period,
+                                         final long target) {
+        if (period <= 0 || target < offset || (target - offset) % period != 0)
+            throw new IllegalArgumentException(String.format("%d isn't a whole number of periods of %d after %d",
+                                                             target, period, offset));
+
+        long[] samples = new long[4];
+        for (int k = 0; k < samples.length; k++)
+            samples[k] = f.applyAsLong(offset + k * period);
+
+        long firstDifference = samples[1] - samples[0];
+        long secondDifference = samples[2] - 2 * samples[1] + samples[0];
+        if (atK(samples[0], firstDifference, secondDifference, 3) != samples[3])
+            return OptionalLong.empty();
+
+        return OptionalLong.of(atK(samples[0], firstDifference, secondDifference, (target - offset) / period));
+    }
+
+    /**
+     * @return The value of the quadratic at k, from its value at 0, its first
+     *     difference at 0 and its (constant) second difference.
+     */
+    private static long atK(long value, long firstDifference, long secondDifference, long k) {
+        return value + k * firstDifference + k * (k - 1) / 2 * secondDifference;
+    }
+
+}
@@ -2,10 +2,18 @@ package aoc;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Scanner;
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 /**
@@ -16,6 +24,9 @@ import java.util.stream.Stream;
  */
 public final class FileUtils {
 
+    /** The most bytes of a file to map at once, the most a buffer can hold. */
+    private static final int MAX_WINDOW_SIZE = Integer.MAX_VALUE;
+
     /**
      * Utility classes have private constructors.
      */
@@ -58,4 +69,73 @@ public final class FileUtils {
         }
     }
 
+    /**
+     * Read a file, available on the classpath, into a {@link Stream} of the
+     * strings between the given delimiter (or line breaks). The stream reads
+     * the file lazily, so it should be closed after use, and can only be read
+     * from once.
+     * 
+     * @param fileName
+     *            The name of a file which can be found on the classpath.
+     * @param delimiter
+     *            The character which separates the strings, as well as line
+     *            breaks.
+     * @return A {@link Stream} of the strings in the file. Returns an empty
+     *         stream if there were any errors opening the file.
+     */
+    public static Stream<String> readFileToStream(final String fileName, final char delimiter) {
+        try {
+            Scanner scanner = new Scanner(Paths.get(ClassLoader.getSystemResource(fileName).toURI()));
+            scanner.useDelimiter("\\R|" + Pattern.quote(String.valueOf(delimiter)));
+            return scanner.tokens().onClose(scanner::close);
+        } catch (IOException | URISyntaxException e) {
+            e.printStackTrace();
+            return Stream.empty();
+        }
+    }
+
+    /**
+     * Memory map a file, available on the classpath, as a read-only view of
+     * its lines. Unlike {@link #readFile(String)}, the contents aren't copied
+     * onto the heap or decoded into strings, so it suits large single byte
+     * character set (e.g. ASCII) files. Files over 2GB are mapped in several
+     * windows, each ending at the end of a line.
+     * 
+     * @param fileName
+     *            The name of a file which can be found on the classpath.
+     * @return A {@link MappedLines} view of the file. Returns a view with no
+     *         lines if there were any errors opening the file, or a line is
+     *         too long to fit in a window.
+     */
+    public static MappedLines mapFile(final String fileName) {
+        try (FileChannel channel = FileChannel.open(Paths.get(ClassLoader.getSystemResource(fileName).toURI()),
+                                                    StandardOpenOption.READ)) {
+            long size = channel.size();
+            List<ByteBuffer> windows = new ArrayList<>();
+            long start = 0;
+            while (start < size) {
+                // The mapping stays valid after the channel is closed
+                MappedByteBuffer window = channel.map(MapMode.READ_ONLY, start,
+                                                      Math.min(MAX_WINDOW_SIZE, size - start));
+
+                // Cut all but the last window short after its last new line
+                int length = window.limit();
+                if (start + length < size) {
+                    while (length > 0 && window.get(length - 1) != '\n')
+                        length--;
+                    if (length == 0)
+                        throw new IOException(String.format("%s has a line longer than %d bytes at offset %d",
+                                                            fileName, MAX_WINDOW_SIZE, start));
+                }
+
+                windows.add(window.limit(length));
+                start += length;
+            }
+            return new MappedLines(windows);
+        } catch (IOException | URISyntaxException e) {
+            e.printStackTrace();
+            return MappedLines.empty();
+        }
+    }
+
 }
@@ -0,0 +1,165 @@
+package aoc;
+
+import java.util.stream.IntStream;
+
+/**
+ * The dimensions of a dense, rectangular grid whose cells are stored in a
+ * single flat array, row by row. Like {@link Coordinate}, rows and columns
+ * are numbered from 1, while the index of a cell in the flat array starts
+ * at 0.
+ * 
+ * @author Paul Cormier
+ *
+ */
+public abstract class Grid {
+
+    protected final int rows;
+    protected final int columns;
+
+    /**
+     * The change in index for each {@link Direction}, by ordinal.
+     */
+    private final int[] indexOffsets;
+
+    protected Grid(int rows, int columns) {
+        if (rows < 0 || columns < 0)
+            throw new IllegalArgumentException(String.format("Invalid grid size: %d x %d", rows, columns));
+        this.rows = rows;
+        this.columns = columns;
+        this.indexOffsets = new int[] { 1, columns, -1, -columns };
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return The number of cells in the grid.
+     */
+    public int size() {
+        return rows * columns;
+    }
+
+    /**
+     * @return True if the given row and column are inside the grid.
+     */
+    public boolean contains(int row, int column) {
+        return row >= 1 && row <= rows && column >= 1 && column <= columns;
+    }
+
+    /**
+     * @return True if the given coordinate is inside the grid.
+     */
+    public boolean contains(Coordinate coordinate) {
+        return contains(coordinate.getRow(), coordinate.getColumn());
+    }
+
+    /**
+     * Find the index in the flat array of the cell at the given row and column,
+     * without checking that it is inside the grid.
+     * 
+     * @param row
+     *     The row of the cell, starting at 1.
+     * @param column
+     *     The column of the cell, starting at 1.
+     * @return The index of the cell.
+     */
+    public int index(int row, int column) {
+        return (row - 1) * columns + column - 1;
+    }
+
+    /**
+     * @return The index in the flat array of the cell at the given coordinate,
+     *     without checking that it is inside the grid.
+     */
+    public int index(Coordinate coordinate) {
+        return index(coordinate.getRow(), coordinate.getColumn());
+    }
+
+    /**
+     * @return The row, starting at 1, of the cell at the given index.
+     */
+    public int rowOf(int index) {
+        return index / columns + 1;
+    }
+
+    /**
+     * @return The column, starting at 1, of the cell at the given index.
+     */
+    public int columnOf(int index) {
+        return index % columns + 1;
+    }
+
+    /**
+     * @return The coordinate of the cell at the given index.
+     */
+    public Coordinate coordinateOf(int index) {
+        return Coordinate.of(rowOf(index), columnOf(index));
+    }
+
+    /**
+     * Find the index of the neighbouring cell in the given direction.
+     * 
+     * @param index
+     *     The index of the cell to move from.
+     * @param direction
+     *     The direction in which to move.
+     * @return The index of the neighbouring cell, or -1 if it would be outside
+     *     the grid.
+     */
+    public int neighbour(int index, Direction direction) {
+        int d = direction.ordinal();
+        int row = index / columns + Direction.ROW_OFFSETS[d];
+        int column = index % columns + Direction.COLUMN_OFFSETS[d];
+        if (row < 0 || row >= rows || column < 0 || column >= columns)
+            return -1;
+        return index + indexOffsets[d];
+    }
+
+    /**
+     * Find the index of the neighbouring cell in the given direction, without
+     * checking whether it is inside the grid. Only useful when the grid has a
+     * border which can't be crossed.
+     * 
+     * @param index
+     *     The index of the cell to move from.
+     * @param direction
+     *     The direction in which to move.
+     * @return The index of the neighbouring cell.
+     */
+    public int neighbourUnchecked(int index, Direction direction) {
+        return index + indexOffsets[direction.ordinal()];
+    }
+
+    /**
+     * @return The indices of the cells in the given row, from left to right.
+     */
+    public IntStream rowIndices(int row) {
+        int start = index(row, 1);
+        return IntStream.range(start, start + columns);
+    }
+
+    /**
+     * @return The indices of the cells in the given column, from top to bottom.
+     */
+    public IntStream columnIndices(int column) {
+        return IntStream.range(0, rows).map(r -> r * columns + column - 1);
+    }
+
+    /**
+     * Check that the given row and column are inside the grid.
+     * 
+     * @throws IndexOutOfBoundsException
+     *     If the row or column is outside the grid.
+     */
+    protected void checkBounds(int row, int column) {
+        if (!contains(row, column))
+            throw new IndexOutOfBoundsException(String.format("(%d, %d) is outside the %d x %d grid",
+                                                              row, column, rows, columns));
+    }
+
+}
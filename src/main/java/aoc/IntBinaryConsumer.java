@@ -0,0 +1,14 @@
+package aoc;
+
+/**
+ * Accepts a row and column without boxing them into a {@link Coordinate}.
+ *
+ * @author Paul Cormier
+ *
+ */
+@FunctionalInterface
+public interface IntBinaryConsumer {
+
+    void accept(int row, int column);
+
+}
@@ -0,0 +1,143 @@
+package aoc;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A dense grid of integers, backed by a single array, for maps which would
+ * otherwise be a {@link Map} of {@link Coordinate} to {@link Integer}.
+ * 
+ * @author Paul Cormier
+ *
+ */
+public final class IntGrid extends Grid {
+
+    /**
+     * The value of cells which don't hold a digit.
+     */
+    public static final int EMPTY = -1;
+
+    private final int[] cells;
+
+    public IntGrid(int rows, int columns) {
+        super(rows, columns);
+        this.cells = new int[rows * columns];
+    }
+
+    /**
+     * Create a grid of the digits in the given lines, in the same way as
+     * {@link Coordinate#mapDigits(List)}. Cells which aren't digits are
+     * {@link #EMPTY}.
+     * 
+     * @param lines
+     *     The lines of the map.
+     * @return A grid of the digits in the lines.
+     */
+    public static IntGrid mapDigits(List<String> lines) {
+        int columns = lines.stream().mapToInt(String::length).max().orElse(0);
+        IntGrid grid = new IntGrid(lines.size(), columns);
+        Arrays.fill(grid.cells, EMPTY);
+
+        int start = 0;
+        for (String line : lines) {
+            for (int c = 0; c < line.length(); c++) {
+                char digit = line.charAt(c);
+                if (Character.isDigit(digit))
+                    grid.cells[start + c] = digit - '0';
+            }
+            start += columns;
+        }
+
+        return grid;
+    }
+
+    /**
+     * @return The value at the given row and column.
+     * @throws IndexOutOfBoundsException
+     *     If the row or column is outside the grid.
+     */
+    public int get(int row, int column) {
+        checkBounds(row, column);
+        return cells[index(row, column)];
+    }
+
+    /**
+     * @return The value at the given coordinate.
+     * @throws IndexOutOfBoundsException
+     *     If the coordinate is outside the grid.
+     */
+    public int get(Coordinate coordinate) {
+        return get(coordinate.getRow(), coordinate.getColumn());
+    }
+
+    /**
+     * @return The value at the given row and column, or the default value if
+     *     it is outside the grid.
+     */
+    public int getOrDefault(int row, int column, int defaultValue) {
+        return contains(row, column) ? cells[index(row, column)] : defaultValue;
+    }
+
+    /**
+     * @return The value at the given index, without checking that it is
+     *     inside the grid.
+     */
+    public int get(int index) {
+        return cells[index];
+    }
+
+    /**
+     * Set the value at the given row and column.
+     * 
+     * @throws IndexOutOfBoundsException
+     *     If the row or column is outside the grid.
+     */
+    public void set(int row, int column, int value) {
+        checkBounds(row, column);
+        cells[index(row, column)] = value;
+    }
+
+    /**
+     * Set the value at the given index, without checking that it is inside
+     * the grid.
+     */
+    public void set(int index, int value) {
+        cells[index] = value;
+    }
+
+    /**
+     * Set every cell in the grid to the given value.
+     */
+    public void fill(int value) {
+        Arrays.fill(cells, value);
+    }
+
+    /**
+     * Create a map of the coordinates of non-empty cells, in the same form as
+     * {@link Coordinate#mapDigits(List)}.
+     * 
+     * @return A map of coordinates to the value found at those coordinates.
+     */
+    public Map<Coordinate, Integer> toMap() {
+        Map<Coordinate, Integer> map = new HashMap<>();
+        for (int i = 0; i < cells.length; i++)
+            if (cells[i] != EMPTY)
+                map.put(coordinateOf(i), cells[i]);
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder printout = new StringBuilder(rows * (columns + 1));
+        for (int i = 0; i < cells.length; i++) {
+            int value = cells[i];
+            printout.append(value >= 0 && value <= 9 ? (char) ('0' + value) : '.');
+            if (i % columns == columns - 1)
+                printout.append('\n');
+        }
+        return printout.toString();
+    }
+
+}
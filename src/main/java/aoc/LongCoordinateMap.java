@@ -0,0 +1,234 @@
+package aoc;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A map of coordinates to int values, with each coordinate packed into a
+ * single long in an open addressing hash table, in the same way as
+ * {@link LongCoordinateSet}. Neither the keys nor the values are boxed.
+ *
+ * @author Paul Cormier
+ *
+ */
+public final class LongCoordinateMap {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private static final long EMPTY = 0L;
+
+    /**
+     * Accepts the row, column and value of an entry in the map.
+     */
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(int row, int column, int value);
+    }
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+    private boolean containsEmptyKey;
+    private int emptyKeyValue;
+
+    public LongCoordinateMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize
+     *     The number of entries the map should be able to hold before it
+     *     needs to grow.
+     */
+    public LongCoordinateMap(int expectedSize) {
+        allocate(LongCoordinateSet.tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Create a map containing the entries of the given map.
+     *
+     * @param map
+     *     The map of coordinates to copy.
+     * @return A new map of the given entries.
+     */
+    public static LongCoordinateMap of(Map<Coordinate, Integer> map) {
+        LongCoordinateMap longMap = new LongCoordinateMap(map.size());
+        map.forEach((c, v) -> longMap.put(c.getRow(), c.getColumn(), v));
+        return longMap;
+    }
+
+    private void allocate(int tableSize) {
+        keys = new long[tableSize];
+        values = new int[tableSize];
+        mask = tableSize - 1;
+    }
+
+    public int size() {
+        return size + (containsEmptyKey ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Associate the value with the given row and column.
+     *
+     * @return True if there wasn't already a value for the row and column.
+     */
+    public boolean put(int row, int column, int value) {
+        long packed = LongCoordinateSet.pack(row, column);
+        if (packed == EMPTY) {
+            boolean added = !containsEmptyKey;
+            containsEmptyKey = true;
+            emptyKeyValue = value;
+            return added;
+        }
+
+        int slot = LongCoordinateSet.hash(packed) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == packed) {
+                values[slot] = value;
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = packed;
+        values[slot] = value;
+
+        if (++size * 2 > keys.length)
+            rehash(keys.length * 2);
+        return true;
+    }
+
+    public boolean put(Coordinate coordinate, int value) {
+        return put(coordinate.getRow(), coordinate.getColumn(), value);
+    }
+
+    /**
+     * @return The value for the given row and column, or the default value if
+     *     there isn't one.
+     */
+    public int getOrDefault(int row, int column, int defaultValue) {
+        long packed = LongCoordinateSet.pack(row, column);
+        if (packed == EMPTY)
+            return containsEmptyKey ? emptyKeyValue : defaultValue;
+        int slot = slotOf(packed);
+        return slot >= 0 ? values[slot] : defaultValue;
+    }
+
+    public int getOrDefault(Coordinate coordinate, int defaultValue) {
+        return getOrDefault(coordinate.getRow(), coordinate.getColumn(), defaultValue);
+    }
+
+    public boolean containsKey(int row, int column) {
+        long packed = LongCoordinateSet.pack(row, column);
+        if (packed == EMPTY)
+            return containsEmptyKey;
+        return slotOf(packed) >= 0;
+    }
+
+    public boolean containsKey(Coordinate coordinate) {
+        return containsKey(coordinate.getRow(), coordinate.getColumn());
+    }
+
+    /**
+     * Remove the entry for the given row and column.
+     *
+     * @return True if there was an entry for the row and column.
+     */
+    public boolean remove(int row, int column) {
+        long packed = LongCoordinateSet.pack(row, column);
+        if (packed == EMPTY) {
+            boolean removed = containsEmptyKey;
+            containsEmptyKey = false;
+            return removed;
+        }
+
+        int slot = slotOf(packed);
+        if (slot < 0)
+            return false;
+
+        // Move any following entries back, so none becomes unreachable
+        int last = slot;
+        int next = (slot + 1) & mask;
+        long key;
+        while ((key = keys[next]) != EMPTY) {
+            int ideal = LongCoordinateSet.hash(key) & mask;
+            if (((next - ideal) & mask) >= ((next - last) & mask)) {
+                keys[last] = key;
+                values[last] = values[next];
+                last = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[last] = EMPTY;
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        containsEmptyKey = false;
+    }
+
+    /**
+     * Perform the given action for each entry in the map.
+     */
+    public void forEach(EntryConsumer action) {
+        if (containsEmptyKey)
+            action.accept(0, 0, emptyKeyValue);
+        for (int slot = 0; slot < keys.length; slot++)
+            if (keys[slot] != EMPTY)
+                action.accept(LongCoordinateSet.row(keys[slot]), LongCoordinateSet.column(keys[slot]), values[slot]);
+    }
+
+    /**
+     * @return A new set of the coordinates in the map.
+     */
+    public LongCoordinateSet keySet() {
+        LongCoordinateSet keySet = new LongCoordinateSet(size());
+        forEach((r, c, v) -> keySet.add(r, c));
+        return keySet;
+    }
+
+    /**
+     * @return A new {@link Map} of {@link Coordinate} to {@link Integer}, with
+     *     the same entries as this map.
+     */
+    public Map<Coordinate, Integer> toMap() {
+        Map<Coordinate, Integer> map = new HashMap<>();
+        forEach((r, c, v) -> map.put(Coordinate.of(r, c), v));
+        return map;
+    }
+
+    private int slotOf(long packed) {
+        int slot = LongCoordinateSet.hash(packed) & mask;
+        long key;
+        while ((key = keys[slot]) != EMPTY) {
+            if (key == packed)
+                return slot;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void rehash(int tableSize) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(tableSize);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = LongCoordinateSet.hash(oldKeys[i]) & mask;
+                while (keys[slot] != EMPTY)
+                    slot = (slot + 1) & mask;
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+}
@@ -0,0 +1,379 @@
+package aoc;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+/**
+ * A set of coordinates, each packed into a single long, in an open addressing
+ * hash table. Unlike a {@link Set} of {@link Coordinate}, adding an entry
+ * doesn't allocate anything unless the table needs to grow, which makes it
+ * suitable for sets of millions of coordinates on unbounded grids.
+ *
+ * @author Paul Cormier
+ *
+ */
+public final class LongCoordinateSet {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    /**
+     * The packed coordinate (0, 0) marks an empty slot in the table, so
+     * whether it's in the set is tracked separately.
+     */
+    private static final long EMPTY = 0L;
+
+    private long[] keys;
+    private int mask;
+    private int size;
+    private boolean containsEmptyKey;
+
+    public LongCoordinateSet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize
+     *     The number of coordinates the set should be able to hold before it
+     *     needs to grow.
+     */
+    public LongCoordinateSet(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Create a set containing the given coordinates.
+     *
+     * @param coordinates
+     *     The coordinates to add to the set.
+     * @return A new set of the given coordinates.
+     */
+    public static LongCoordinateSet of(Collection<Coordinate> coordinates) {
+        LongCoordinateSet set = new LongCoordinateSet(coordinates.size());
+        coordinates.forEach(set::add);
+        return set;
+    }
+
+    /**
+     * Pack a row and column into a single long.
+     *
+     * @param row
+     *     The row, in the high 32 bits.
+     * @param column
+     *     The column, in the low 32 bits.
+     * @return The packed coordinate.
+     */
+    public static long pack(int row, int column) {
+        return ((long) row << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return The row of the packed coordinate.
+     */
+    public static int row(long packed) {
+        return (int) (packed >> 32);
+    }
+
+    /**
+     * @return The column of the packed coordinate.
+     */
+    public static int column(long packed) {
+        return (int) packed;
+    }
+
+    /**
+     * Spread the bits of a packed coordinate so that neighbouring coordinates
+     * don't cluster in the table (the finalizer from MurmurHash3).
+     */
+    static int hash(long packed) {
+        packed ^= packed >>> 33;
+        packed *= 0xFF51AFD7ED558CCDL;
+        packed ^= packed >>> 33;
+        packed *= 0xC4CEB9FE1A85EC53L;
+        packed ^= packed >>> 33;
+        return (int) packed;
+    }
+
+    /**
+     * @return The power of 2 size of a table which can hold the given number
+     *     of entries while staying at most half full.
+     */
+    static int tableSizeFor(int expectedSize) {
+        int tableSize = Integer.highestOneBit(Math.max(expectedSize, 2) * 2 - 1) << 1;
+        if (tableSize <= 0)
+            throw new IllegalArgumentException("Too many entries: " + expectedSize);
+        return tableSize;
+    }
+
+    private void allocate(int tableSize) {
+        keys = new long[tableSize];
+        mask = tableSize - 1;
+    }
+
+    public int size() {
+        return size + (containsEmptyKey ? 1 : 0);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public boolean add(int row, int column) {
+        return add(pack(row, column));
+    }
+
+    public boolean add(Coordinate coordinate) {
+        return add(pack(coordinate.getRow(), coordinate.getColumn()));
+    }
+
+    /**
+     * Add a packed coordinate to the set.
+     *
+     * @param packed
+     *     The coordinate, packed with {@link #pack(int, int)}.
+     * @return True if the coordinate wasn't already in the set.
+     */
+    public boolean add(long packed) {
+        if (packed == EMPTY) {
+            boolean added = !containsEmptyKey;
+            containsEmptyKey = true;
+            return added;
+        }
+
+        int slot = hash(packed) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == packed)
+                return false;
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = packed;
+
+        if (++size * 2 > keys.length)
+            rehash(keys.length * 2);
+        return true;
+    }
+
+    public boolean contains(int row, int column) {
+        return contains(pack(row, column));
+    }
+
+    public boolean contains(Coordinate coordinate) {
+        return contains(pack(coordinate.getRow(), coordinate.getColumn()));
+    }
+
+    /**
+     * @param packed
+     *     The coordinate, packed with {@link #pack(int, int)}.
+     * @return True if the coordinate is in the set.
+     */
+    public boolean contains(long packed) {
+        if (packed == EMPTY)
+            return containsEmptyKey;
+        return slotOf(packed) >= 0;
+    }
+
+    public boolean remove(int row, int column) {
+        return remove(pack(row, column));
+    }
+
+    public boolean remove(Coordinate coordinate) {
+        return remove(pack(coordinate.getRow(), coordinate.getColumn()));
+    }
+
+    /**
+     * Remove a packed coordinate from the set.
+     *
+     * @param packed
+     *     The coordinate, packed with {@link #pack(int, int)}.
+     * @return True if the coordinate was in the set.
+     */
+    public boolean remove(long packed) {
+        if (packed == EMPTY) {
+            boolean removed = containsEmptyKey;
+            containsEmptyKey = false;
+            return removed;
+        }
+
+        int slot = slotOf(packed);
+        if (slot < 0)
+            return false;
+
+        shiftKeysBack(slot);
+        size--;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        containsEmptyKey = false;
+    }
+
+    /**
+     * Perform the given action for the row and column of each coordinate in
+     * the set.
+     */
+    public void forEach(IntBinaryConsumer action) {
+        forEachPacked(packed -> action.accept(row(packed), column(packed)));
+    }
+
+    /**
+     * Perform the given action for each packed coordinate in the set.
+     */
+    public void forEachPacked(LongConsumer action) {
+        if (containsEmptyKey)
+            action.accept(EMPTY);
+        for (long key : keys)
+            if (key != EMPTY)
+                action.accept(key);
+    }
+
+    /**
+     * @return An iterator over the packed coordinates in the set.
+     */
+    public PrimitiveIterator.OfLong iterator() {
+        return new PrimitiveIterator.OfLong() {
+            private boolean emptyKeyPending = containsEmptyKey;
+            private int slot = nextSlot(0);
+
+            private int nextSlot(int from) {
+                while (from < keys.length && keys[from] == EMPTY)
+                    from++;
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return emptyKeyPending || slot < keys.length;
+            }
+
+            @Override
+            public long nextLong() {
+                if (emptyKeyPending) {
+                    emptyKeyPending = false;
+                    return EMPTY;
+                }
+                if (slot >= keys.length)
+                    throw new NoSuchElementException();
+                long key = keys[slot];
+                slot = nextSlot(slot + 1);
+                return key;
+            }
+        };
+    }
+
+    /**
+     * Create a view of this set as a {@link Set} of {@link Coordinate}, so code
+     * which expects one can be migrated gradually. Changes to the view are
+     * written through to this set, but its iterator doesn't support removal.
+     *
+     * @return A view of this set.
+     */
+    public Set<Coordinate> asSet() {
+        return new AbstractSet<>() {
+            @Override
+            public int size() {
+                return LongCoordinateSet.this.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof Coordinate && LongCoordinateSet.this.contains((Coordinate) o);
+            }
+
+            @Override
+            public boolean add(Coordinate c) {
+                return LongCoordinateSet.this.add(c);
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                return o instanceof Coordinate && LongCoordinateSet.this.remove((Coordinate) o);
+            }
+
+            @Override
+            public void clear() {
+                LongCoordinateSet.this.clear();
+            }
+
+            @Override
+            public Iterator<Coordinate> iterator() {
+                PrimitiveIterator.OfLong packed = LongCoordinateSet.this.iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return packed.hasNext();
+                    }
+
+                    @Override
+                    public Coordinate next() {
+                        long next = packed.nextLong();
+                        return Coordinate.of(row(next), column(next));
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * @return The slot holding the given (non-empty) key, or -1 if it isn't
+     *     in the table.
+     */
+    private int slotOf(long packed) {
+        int slot = hash(packed) & mask;
+        long key;
+        while ((key = keys[slot]) != EMPTY) {
+            if (key == packed)
+                return slot;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Empty the given slot, moving any following keys back so that none of
+     * them becomes unreachable from its ideal slot.
+     */
+    private void shiftKeysBack(int slot) {
+        int last = slot;
+        int next = (slot + 1) & mask;
+        long key;
+        while ((key = keys[next]) != EMPTY) {
+            int ideal = hash(key) & mask;
+            // Move the key if its ideal slot isn't between the gap and where it is now
+            if (((next - ideal) & mask) >= ((next - last) & mask)) {
+                keys[last] = key;
+                last = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[last] = EMPTY;
+    }
+
+    private void rehash(int tableSize) {
+        long[] oldKeys = keys;
+        allocate(tableSize);
+        for (long key : oldKeys) {
+            if (key != EMPTY) {
+                int slot = hash(key) & mask;
+                while (keys[slot] != EMPTY)
+                    slot = (slot + 1) & mask;
+                keys[slot] = key;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder printout = new StringBuilder("[");
+        forEach((r, c) -> printout.append(printout.length() > 1 ? ", " : "")
+                                  .append(String.format("(%s, %s)", r, c)));
+        return printout.append(']').toString();
+    }
+
+}
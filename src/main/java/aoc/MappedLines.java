@@ -0,0 +1,273 @@
+package aoc;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A read-only view of the lines of a single byte character set (e.g. ASCII)
+ * file, which has been memory mapped with {@link FileUtils#mapFile(String)},
+ * in windows of up to 2GB.
+ * Only the offsets of the lines are kept on the heap; the lines themselves are
+ * read straight from the mapped bytes, without decoding them into strings.
+ * 
+ * @author Paul Cormier
+ *
+ */
+public final class MappedLines {
+
+    /**
+     * The mapped windows of the file, in order. Each ends at the end of a
+     * line, so no line is split between two windows.
+     */
+    private final ByteBuffer[] windows;
+
+    /**
+     * The offset in the file of the first byte of each window, plus the
+     * length of the file.
+     */
+    private final long[] windowStarts;
+
+    /**
+     * The offset in the file of the first byte of each line, plus the offset
+     * of the end of the file, so the next line's start bounds each line.
+     */
+    private final long[] lineStarts;
+
+    private final int lineCount;
+
+    MappedLines(List<ByteBuffer> windows) {
+        this.windows = new ByteBuffer[windows.size()];
+        this.windowStarts = new long[windows.size() + 1];
+
+        long[] starts = new long[64];
+        int count = 0;
+        long windowStart = 0;
+        long start = 0;
+        for (int w = 0; w < this.windows.length; w++) {
+            ByteBuffer window = windows.get(w).asReadOnlyBuffer();
+            this.windows[w] = window;
+            this.windowStarts[w] = windowStart;
+
+            int limit = window.limit();
+            for (int i = 0; i < limit; i++) {
+                if (window.get(i) == '\n') {
+                    if (count + 1 >= starts.length)
+                        starts = Arrays.copyOf(starts, starts.length * 2);
+                    starts[count++] = start;
+                    start = windowStart + i + 1;
+                }
+            }
+            windowStart += limit;
+        }
+        this.windowStarts[this.windows.length] = windowStart;
+
+        // The last line might not end with a new line
+        if (start < windowStart) {
+            if (count + 1 >= starts.length)
+                starts = Arrays.copyOf(starts, starts.length * 2);
+            starts[count++] = start;
+            start = windowStart + 1;
+        }
+        starts[count] = start;
+
+        this.lineStarts = starts;
+        this.lineCount = count;
+    }
+
+    /**
+     * @return A view with no lines.
+     */
+    static MappedLines empty() {
+        return new MappedLines(Collections.emptyList());
+    }
+
+    /**
+     * @return The number of lines in the file.
+     */
+    public int lineCount() {
+        return lineCount;
+    }
+
+    /**
+     * @return The offset in the file of the first byte of the given line.
+     */
+    public long lineStart(int line) {
+        checkLine(line);
+        return lineStarts[line];
+    }
+
+    /**
+     * @return The offset in the file just after the last byte of the given
+     *     line, not including any line terminator.
+     */
+    public long lineEnd(int line) {
+        checkLine(line);
+        long end = lineStarts[line + 1] - 1;
+        if (end > lineStarts[line] && byteAt(end - 1) == '\r')
+            end--;
+        return end;
+    }
+
+    /**
+     * @return The number of bytes (and characters) in the given line.
+     */
+    public int lineLength(int line) {
+        // A line never spans windows, so its length fits in an int
+        return (int) (lineEnd(line) - lineStart(line));
+    }
+
+    /**
+     * @return The byte at the given offset in the file.
+     */
+    public byte byteAt(long offset) {
+        int window = windowOf(offset);
+        return windows[window].get((int) (offset - windowStarts[window]));
+    }
+
+    /**
+     * Get the bytes of a line, without copying them.
+     * 
+     * @param line
+     *     The index of the line, starting at 0.
+     * @return A read-only buffer of the bytes of the line, not including any
+     *     line terminator.
+     */
+    public ByteBuffer lineBytes(int line) {
+        long start = lineStart(line);
+        int window = windowOf(start);
+        int offset = (int) (start - windowStarts[window]);
+        return windows[window].duplicate().position(offset).limit(offset + lineLength(line)).slice();
+    }
+
+    /**
+     * Get the characters of a line, without copying them. Each byte is treated
+     * as one character, so this is only correct for single byte character
+     * sets.
+     * 
+     * @param line
+     *     The index of the line, starting at 0.
+     * @return A view of the characters of the line, not including any line
+     *     terminator.
+     */
+    public CharSequence line(int line) {
+        ByteBuffer bytes = lineBytes(line);
+        return new ByteCharSequence(bytes, 0, bytes.limit());
+    }
+
+    /**
+     * Parse all of the (optionally negative) integers in a line, treating
+     * everything else as a separator.
+     * 
+     * @param line
+     *     The index of the line, starting at 0.
+     * @return The integers in the line, in order.
+     */
+    public int[] parseInts(int line) {
+        return Arrays.stream(parseLongs(line)).mapToInt(Math::toIntExact).toArray();
+    }
+
+    /**
+     * Parse all of the (optionally negative) longs in a line, treating
+     * everything else as a separator.
+     * 
+     * @param line
+     *     The index of the line, starting at 0.
+     * @return The longs in the line, in order.
+     */
+    public long[] parseLongs(int line) {
+        ByteBuffer buffer = lineBytes(line);
+        int end = buffer.limit();
+        long[] values = new long[8];
+        int count = 0;
+
+        int i = 0;
+        while (i < end) {
+            byte b = buffer.get(i);
+            boolean negative = b == '-' && i + 1 < end && isDigit(buffer.get(i + 1));
+            if (!negative && !isDigit(b)) {
+                i++;
+                continue;
+            }
+
+            if (negative)
+                i++;
+            long value = 0;
+            while (i < end && isDigit(b = buffer.get(i))) {
+                value = value * 10 + (b - '0');
+                i++;
+            }
+
+            if (count == values.length)
+                values = Arrays.copyOf(values, count * 2);
+            values[count++] = negative ? -value : value;
+        }
+
+        return Arrays.copyOf(values, count);
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    /**
+     * @return The index of the window holding the given offset in the file.
+     */
+    private int windowOf(long offset) {
+        if (offset < 0 || offset >= windowStarts[windows.length])
+            throw new IndexOutOfBoundsException(String.format("Offset %d of %d", offset,
+                                                              windowStarts[windows.length]));
+        // The last window starting at or before the offset
+        int window = Arrays.binarySearch(windowStarts, 0, windows.length, offset);
+        return window >= 0 ? window : -window - 2;
+    }
+
+    private void checkLine(int line) {
+        if (line < 0 || line >= lineCount)
+            throw new IndexOutOfBoundsException(String.format("Line %d of %d", line, lineCount));
+    }
+
+    /**
+     * The characters between two offsets in a buffer.
+     */
+    private static final class ByteCharSequence implements CharSequence {
+        private final ByteBuffer buffer;
+        private final int start;
+        private final int end;
+
+        private ByteCharSequence(ByteBuffer buffer, int start, int end) {
+            this.buffer = buffer;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length())
+                throw new IndexOutOfBoundsException(index);
+            return (char) (buffer.get(start + index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            if (from < 0 || to > length() || from > to)
+                throw new IndexOutOfBoundsException(String.format("[%d, %d) of %d", from, to, length()));
+            return new ByteCharSequence(buffer, start + from, start + to);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder string = new StringBuilder(length());
+            for (int i = start; i < end; i++)
+                string.append((char) (buffer.get(i) & 0xFF));
+            return string.toString();
+        }
+    }
+
+}
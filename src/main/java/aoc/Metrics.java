@@ -0,0 +1,226 @@
+package aoc;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Named timers and counters, shared by every thread, for tracking where the
+ * time and memory goes in each day's puzzle.
+ * <p>
+ * A timer is recorded by timing a {@link Phase}, e.g.
+ *
+ * <pre>
+ * try (Metrics.Phase phase = Metrics.phase("Day14.cycle-detect")) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * which adds the wall-clock time, and the memory allocated by the current
+ * thread, to the timer with that name. Names are conventionally the day, a
+ * dot, and the phase, e.g. "Day5.parse" or "Day14.solve".
+ *
+ * @author Paul Cormier
+ *
+ */
+public final class Metrics {
+
+    private static final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+
+    /**
+     * The totals of every time a phase with the same name was timed.
+     */
+    private static final class Timer {
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Long::max, 0);
+        final LongAdder allocatedBytes = new LongAdder();
+
+        void record(long nanos, long allocated) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            if (allocated > 0)
+                allocatedBytes.add(allocated);
+        }
+    }
+
+    /**
+     * A single timing of a named phase, on the current thread. The phase ends
+     * the first time it's stopped or closed.
+     */
+    public static final class Phase implements AutoCloseable {
+        private final Timer timer;
+        private final long startNanos;
+        private final long startAllocated;
+        private long elapsedNanos = -1;
+        private long allocatedBytes = -1;
+
+        private Phase(Timer timer) {
+            this.timer = timer;
+            this.startAllocated = Metrics.allocatedBytes();
+            this.startNanos = System.nanoTime();
+        }
+
+        /**
+         * End the phase and add it to its timer, if it hasn't already ended.
+         *
+         * @return The elapsed time of the phase, in nanoseconds.
+         */
+        public long stop() {
+            if (elapsedNanos < 0) {
+                elapsedNanos = System.nanoTime() - startNanos;
+                if (startAllocated >= 0)
+                    allocatedBytes = Metrics.allocatedBytes() - startAllocated;
+                timer.record(elapsedNanos, allocatedBytes);
+            }
+            return elapsedNanos;
+        }
+
+        /**
+         * @return The memory allocated by the thread during the phase, or -1 if
+         *     it hasn't ended or the JVM can't measure it.
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        @Override
+        public void close() {
+            stop();
+        }
+    }
+
+    /**
+     * Utility classes have private constructors.
+     */
+    private Metrics() {
+    }
+
+    /**
+     * Start timing a phase.
+     *
+     * @param name
+     *     The name of the timer to add the phase to.
+     * @return The running phase, to be stopped or closed when it ends.
+     */
+    public static Phase phase(String name) {
+        return new Phase(timers.computeIfAbsent(name, n -> new Timer()));
+    }
+
+    /**
+     * Add one to the named counter.
+     */
+    public static void increment(String name) {
+        add(name, 1);
+    }
+
+    /**
+     * Add the given amount to the named counter.
+     */
+    public static void add(String name, long amount) {
+        counters.computeIfAbsent(name, n -> new LongAdder()).add(amount);
+    }
+
+    /**
+     * Forget all of the timers and counters.
+     */
+    public static void reset() {
+        timers.clear();
+        counters.clear();
+    }
+
+    /**
+     * @return The number of bytes allocated by the current thread, or -1 if
+     *     the JVM can't measure it.
+     */
+    public static long allocatedBytes() {
+        java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunThreadBean = (com.sun.management.ThreadMXBean) threadBean;
+            if (sunThreadBean.isThreadAllocatedMemorySupported() && sunThreadBean.isThreadAllocatedMemoryEnabled())
+                return sunThreadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /**
+     * @return The timers and counters as CSV, one row per name, in name order.
+     *     Counters only have a count.
+     */
+    public static String toCsv() {
+        StringBuilder csv = new StringBuilder("type,name,count,total_ms,max_ms,allocated_bytes\n");
+        for (Map.Entry<String, Timer> entry : sortedTimers().entrySet()) {
+            Timer timer = entry.getValue();
+            csv.append(String.format(Locale.ROOT, "timer,%s,%d,%.3f,%.3f,%d\n", entry.getKey(), timer.count.sum(),
+                                     timer.totalNanos.sum() / 1e6, timer.maxNanos.get() / 1e6,
+                                     timer.allocatedBytes.sum()));
+        }
+        sortedCounters().forEach((name, count) -> csv.append(String.format("counter,%s,%d,,,\n", name, count)));
+        return csv.toString();
+    }
+
+    /**
+     * @return The timers and counters as a JSON object, with a "timers" object
+     *     and a "counters" object, each keyed by name.
+     */
+    public static String toJson() {
+        StringJoiner timerJson = new StringJoiner(",\n", "{\n", "\n  }").setEmptyValue("{}");
+        for (Map.Entry<String, Timer> entry : sortedTimers().entrySet()) {
+            Timer timer = entry.getValue();
+            timerJson.add(String.format(Locale.ROOT,
+                                        "    \"%s\": {\"count\": %d, \"totalMs\": %.3f, \"maxMs\": %.3f, "
+                                                     + "\"allocatedBytes\": %d}",
+                                        escape(entry.getKey()), timer.count.sum(), timer.totalNanos.sum() / 1e6,
+                                        timer.maxNanos.get() / 1e6, timer.allocatedBytes.sum()));
+        }
+
+        StringJoiner counterJson = new StringJoiner(",\n", "{\n", "\n  }").setEmptyValue("{}");
+        sortedCounters().forEach((name, count) -> counterJson.add(String.format("    \"%s\": %d", escape(name),
+                                                                                count)));
+
+        return String.format("{\n  \"timers\": %s,\n  \"counters\": %s\n}\n", timerJson, counterJson);
+    }
+
+    /**
+     * Write the timers and counters to a file, as JSON if its name ends with
+     * ".json", otherwise as CSV.
+     *
+     * @param file
+     *     The file to write, which is replaced if it exists.
+     * @throws IOException
+     *     If the file couldn't be written.
+     */
+    public static void write(Path file) throws IOException {
+        String contents = file.getFileName().toString().endsWith(".json") ? toJson() : toCsv();
+        if (file.getParent() != null)
+            Files.createDirectories(file.getParent());
+        Files.writeString(file, contents);
+    }
+
+    private static Map<String, Timer> sortedTimers() {
+        return new TreeMap<>(timers);
+    }
+
+    private static Map<String, Long> sortedCounters() {
+        Map<String, Long> sorted = new TreeMap<>();
+        counters.forEach((name, count) -> sorted.put(name, count.sum()));
+        return sorted;
+    }
+
+    private static String escape(String name) {
+        return name.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+}
@@ -0,0 +1,207 @@
+package aoc;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * An optional cache of parsed puzzle models. The first time an input is
+ * parsed, the model is written to a compact binary file, named after the
+ * model and a hash of the input. Later runs with the same input memory map
+ * that file and read the model back from it, rather than parsing the text
+ * again.
+ * <p>
+ * Snapshots are only used when the {@value #DIRECTORY_PROPERTY} system
+ * property names the directory to keep them in, e.g.
+ * {@code -Daoc.snapshot.dir=build/snapshots}; otherwise the input is always
+ * parsed.
+ *
+ * @author Paul Cormier
+ *
+ */
+public final class Snapshot {
+
+    /**
+     * The system property naming the directory to keep snapshots in.
+     */
+    public static final String DIRECTORY_PROPERTY = "aoc.snapshot.dir";
+
+    /**
+     * Written at the start of each snapshot; "AOC" and a version in the low
+     * byte. Bump the version whenever the format of any snapshot changes, so
+     * that old files are ignored.
+     */
+    private static final int MAGIC = 0x414F4301;
+
+    /**
+     * Writes a model to a snapshot.
+     *
+     * @param <T>
+     *     The type of the model.
+     */
+    @FunctionalInterface
+    public interface Writer<T> {
+        void write(T model, DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * Utility classes have private constructors.
+     */
+    private Snapshot() {
+    }
+
+    /**
+     * Get the model for the given lines, from a snapshot if there is one,
+     * otherwise by parsing them (and writing a snapshot for next time).
+     *
+     * @param <T>
+     *     The type of the model.
+     * @param name
+     *     The name of the model, unique across all days, e.g. "Day5-almanac".
+     * @param lines
+     *     The lines of the input, which identify the snapshot.
+     * @param parser
+     *     Parses the lines into the model.
+     * @param writer
+     *     Writes the model to a snapshot.
+     * @param reader
+     *     Reads the model back from a snapshot, in the order it was written.
+     *     The values written by {@link DataOutputStream} are big endian, the
+     *     same as the default order of a {@link ByteBuffer}.
+     * @return The model, which is always newly created, so can be modified by
+     *     the caller.
+     */
+    public static <T> T load(final String name, final List<String> lines, final Function<List<String>, T> parser,
+                             final Writer<T> writer, final Function<ByteBuffer, T> reader) {
+        String directory = System.getProperty(DIRECTORY_PROPERTY);
+        if (directory == null || directory.isBlank())
+            return parser.apply(lines);
+
+        Path snapshotFile = Paths.get(directory, String.format("%s-%s.bin", name, hash(lines)));
+
+        if (Files.isReadable(snapshotFile)) {
+            try {
+                T model = read(snapshotFile, reader);
+                Metrics.increment(name + ".snapshot-hits");
+                return model;
+            } catch (IOException | RuntimeException e) {
+                // A stale or corrupt snapshot is replaced below
+            }
+        }
+
+        Metrics.increment(name + ".snapshot-misses");
+        T model = parser.apply(lines);
+        write(snapshotFile, model, writer);
+        return model;
+    }
+
+    private static <T> T read(final Path snapshotFile, final Function<ByteBuffer, T> reader) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.getInt() != MAGIC)
+            throw new IOException("Not a snapshot: " + snapshotFile);
+        T model = reader.apply(buffer);
+        if (buffer.hasRemaining())
+            throw new IOException("Snapshot not fully read: " + snapshotFile);
+        return model;
+    }
+
+    private static <T> void write(final Path snapshotFile, final T model, final Writer<T> writer) {
+        Path temporaryFile = null;
+        try {
+            Files.createDirectories(snapshotFile.getParent());
+            // Write to a temporary file first, so a partly written snapshot is never read
+            temporaryFile = Files.createTempFile(snapshotFile.getParent(), snapshotFile.getFileName().toString(),
+                                                 ".tmp");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+                out.writeInt(MAGIC);
+                writer.write(model, out);
+            }
+            try {
+                Files.move(temporaryFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING,
+                           StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            temporaryFile = null;
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            // Don't leave a temporary file behind if it was never moved into place
+            if (temporaryFile != null) {
+                try {
+                    Files.deleteIfExists(temporaryFile);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return A hex string of the SHA-256 hash of the lines.
+     */
+    private static String hash(final List<String> lines) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String line : lines) {
+                digest.update(line.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest())
+                hex.append(String.format("%02x", b));
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Write a string, to be read back with {@link #readString(ByteBuffer)}.
+     */
+    public static void writeString(final DataOutputStream out, final String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Read a string written with {@link #writeString(DataOutputStream, String)}.
+     *
+     * @throws BufferUnderflowException
+     *     If the buffer doesn't hold the whole string, or its length is
+     *     corrupt.
+     */
+    public static String readString(final ByteBuffer in) {
+        // Check the length before trusting it, so a corrupt one can't ask for a huge array
+        int length = in.getInt();
+        if (length < 0 || length > in.remaining())
+            throw new BufferUnderflowException();
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
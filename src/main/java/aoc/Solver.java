@@ -0,0 +1,47 @@
+package aoc;
+
+import java.util.List;
+
+/**
+ * A common way to run the solution to a day's puzzle, so that the days can
+ * be run together without each needing its own JVM.
+ * 
+ * @author Paul Cormier
+ *
+ */
+public interface Solver {
+
+    /**
+     * @return The day of the puzzle which this solves.
+     */
+    int getDay();
+
+    /**
+     * Read the real input for this day's puzzle.
+     * 
+     * @return The lines of the input file, or an empty list if the file
+     *     couldn't be read.
+     */
+    default List<String> parse() {
+        return FileUtils.readFile(String.format("input/Day%d.txt", getDay()));
+    }
+
+    /**
+     * Solve the first part of the puzzle.
+     * 
+     * @param lines
+     *     The lines of the puzzle input.
+     * @return The answer to the first part of the puzzle.
+     */
+    long solvePart1(List<String> lines);
+
+    /**
+     * Solve the second part of the puzzle.
+     * 
+     * @param lines
+     *     The lines of the puzzle input.
+     * @return The answer to the second part of the puzzle.
+     */
+    long solvePart2(List<String> lines);
+
+}
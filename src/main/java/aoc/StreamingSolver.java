@@ -0,0 +1,44 @@
+package aoc;
+
+import java.util.stream.Stream;
+
+/**
+ * A {@link Solver} for a puzzle whose input lines can be processed one at a
+ * time, so the input can be consumed lazily, with peak memory which doesn't
+ * grow with the size of the input.
+ * 
+ * @author Paul Cormier
+ *
+ */
+public interface StreamingSolver extends Solver {
+
+    /**
+     * Lazily read the real input for this day's puzzle. The stream holds the
+     * file open, so it should be closed after use.
+     * 
+     * @return A stream of the lines of the input file, or an empty stream if
+     *     the file couldn't be read.
+     */
+    default Stream<String> streamInput() {
+        return FileUtils.readFileToStream(String.format("input/Day%d.txt", getDay()));
+    }
+
+    /**
+     * Solve the first part of the puzzle, consuming the input lazily.
+     * 
+     * @param lines
+     *     The lines of the puzzle input.
+     * @return The answer to the first part of the puzzle.
+     */
+    long solvePart1(Stream<String> lines);
+
+    /**
+     * Solve the second part of the puzzle, consuming the input lazily.
+     * 
+     * @param lines
+     *     The lines of the puzzle input.
+     * @return The answer to the second part of the puzzle.
+     */
+    long solvePart2(Stream<String> lines);
+
+}
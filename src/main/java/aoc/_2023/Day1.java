@@ -5,11 +5,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.LoggerFactory;
 
 import aoc.FileUtils;
+import aoc.StreamingSolver;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
@@ -20,7 +22,7 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day1 {
+public class Day1 implements StreamingSolver {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day1.class);
 
@@ -79,6 +81,31 @@ public class Day1 {
         log.info("The sum of the values in the real input is: {}. It should be higher than 53293.", part2(lines));
     }
 
+    @Override
+    public int getDay() {
+        return 1;
+    }
+
+    @Override
+    public long solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+
+    @Override
+    public long solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+
+    @Override
+    public long solvePart1(final Stream<String> lines) {
+        return part1(lines);
+    }
+
+    @Override
+    public long solvePart2(final Stream<String> lines) {
+        return part2(lines);
+    }
+
     /**
      * Given a list of lines of alphanumeric characters, find the first and last
      * digits (could be the same), treat those as a two digit number, and sum
@@ -89,9 +116,16 @@ public class Day1 {
      * @return The sum of interpreting the first and last digits of each line as
      *         a number.
      */
-    private static int part1(final List<String> lines) {
+    static int part1(final List<String> lines) {
+        return part1(lines.stream());
+    }
+
+    /**
+     * As {@link #part1(List)}, consuming the lines lazily.
+     */
+    static int part1(final Stream<String> lines) {
 
-        return lines.stream().mapToInt(Day1::findDigitValue).sum();
+        return lines.mapToInt(Day1::findDigitValue).sum();
     }
 
     /**
@@ -123,9 +157,16 @@ public class Day1 {
      * @return The sum of interpreting the first and last numbers of each line
      *         as a number.
      */
-    private static int part2(final List<String> lines) {
+    static int part2(final List<String> lines) {
+        return part2(lines.stream());
+    }
+
+    /**
+     * As {@link #part2(List)}, consuming the lines lazily.
+     */
+    static int part2(final Stream<String> lines) {
 
-        return lines.stream().mapToInt(Day1::findNumberValue).sum();
+        return lines.mapToInt(Day1::findNumberValue).sum();
     }
 
     /**
@@ -18,6 +18,7 @@ import org.slf4j.LoggerFactory;
 
 import aoc.Coordinate;
 import aoc.FileUtils;
+import aoc.Solver;
 import aoc._2023.Day10.Pipe.PipeType;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
@@ -29,7 +30,7 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day10 {
+public class Day10 implements Solver {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day10.class);
 
@@ -77,7 +78,7 @@ public class Day10 {
 
         public Set<Coordinate> getConnections() {
             return this.type.connectionDirections.stream()
-                                                 .map(d -> new Coordinate(this.location.getRow() + d[0],
+                                                 .map(d -> Coordinate.of(this.location.getRow() + d[0],
                                                                           this.location.getColumn() + d[1]))
                                                  .collect(Collectors.toSet());
         }
@@ -120,6 +121,21 @@ public class Day10 {
         log.info("There are {} tiles enclosed by the loop.", part2(lines));
     }
 
+    @Override
+    public int getDay() {
+        return 10;
+    }
+
+    @Override
+    public long solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+
+    @Override
+    public long solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+
     /**
      * How many steps along the loop does it take to get from the starting
      * position to the point farthest from the starting position?
@@ -129,7 +145,7 @@ public class Day10 {
      * @return The number of steps from the starting position to the farthest
      *         point in the loop.
      */
-    private static int part1(final List<String> lines) {
+    static int part1(final List<String> lines) {
 
         // First, parse the map of pipes
         AtomicInteger row = new AtomicInteger(0);
@@ -141,7 +157,7 @@ public class Day10 {
                                              .flatMap(l -> l.chars()
                                                             .peek(c -> column.incrementAndGet())
                                                             .filter(c -> c != '.')
-                                                            .mapToObj(c -> new Pipe(new Coordinate(row.get(),
+                                                            .mapToObj(c -> new Pipe(Coordinate.of(row.get(),
                                                                                                    column.get()),
                                                                                     PipeType.fromSymbol((char) c))))
                                              .collect(Collectors.toMap(p -> p.location, p -> p));
@@ -189,7 +205,7 @@ public class Day10 {
         PipeType startType = Stream.of(PipeType.values())
                                    .filter(t -> t != PipeType.START)
                                    .filter(t -> t.connectionDirections.stream()
-                                                                      .allMatch(d -> Optional.ofNullable(pipeMap.get(new Coordinate(startLocation.getRow() +
+                                                                      .allMatch(d -> Optional.ofNullable(pipeMap.get(Coordinate.of(startLocation.getRow() +
                                                                                                                                     d[0],
                                                                                                                                     startLocation.getColumn() +
                                                                                                                                           d[1])))
@@ -224,7 +240,7 @@ public class Day10 {
         StringBuilder printout = new StringBuilder(rows * columns + rows);
 
         while (location < (rows + 1) * columns) {
-            printout.append(Optional.ofNullable(pipeMap.get(new Coordinate(location / columns, location % columns + 1)))
+            printout.append(Optional.ofNullable(pipeMap.get(Coordinate.of(location / columns, location % columns + 1)))
                                     .map(p -> p.type.symbol)
                                     .orElse('.'));
 
@@ -257,9 +273,9 @@ public class Day10 {
         StringBuilder printout = new StringBuilder(rows * columns + rows);
 
         while (location < (rows + 1) * columns) {
-            if (coordinates1.contains(new Coordinate(location / columns, location % columns + 1)))
+            if (coordinates1.contains(Coordinate.of(location / columns, location % columns + 1)))
                 printout.append("O");
-            else if (coordinates2.contains(new Coordinate(location / columns, location % columns + 1)))
+            else if (coordinates2.contains(Coordinate.of(location / columns, location % columns + 1)))
                 printout.append(".");
             else
                 printout.append(" ");
@@ -280,7 +296,7 @@ public class Day10 {
      *            The lines which describe the map of pipes.
      * @return The number of tiles enclosed by the loop.
      */
-    private static int part2(final List<String> lines) {
+    static int part2(final List<String> lines) {
 
         // First, parse the map of pipes
         AtomicInteger row = new AtomicInteger(0);
@@ -292,7 +308,7 @@ public class Day10 {
                                              .flatMap(l -> l.chars()
                                                             .peek(c -> column.incrementAndGet())
                                                             .filter(c -> c != '.')
-                                                            .mapToObj(c -> new Pipe(new Coordinate(row.get(),
+                                                            .mapToObj(c -> new Pipe(Coordinate.of(row.get(),
                                                                                                    column.get()),
                                                                                     PipeType.fromSymbol((char) c))))
                                              .collect(Collectors.toMap(p -> p.location, p -> p));
@@ -317,31 +333,31 @@ public class Day10 {
         // Find all outside spaces.
         Set<Coordinate> outsideSpaces = new HashSet<>();
         Queue<Coordinate> spacesToCheck = new ArrayDeque<>();
-        spacesToCheck.add(new Coordinate(0, 0));
+        spacesToCheck.add(Coordinate.of(0, 0));
 
         while (!spacesToCheck.isEmpty()) {
             Coordinate space = spacesToCheck.poll();
             if (outsideSpaces.add(space)) {
                 if (space.getColumn() < expandedColumns) {
-                    Coordinate right = new Coordinate(space.getRow(), space.getColumn() + 1);
+                    Coordinate right = Coordinate.of(space.getRow(), space.getColumn() + 1);
                     if (!(pipeLocations.contains(right) || spacesToCheck.contains(right))) {
                         spacesToCheck.add(right);
                     }
                 }
                 if (space.getRow() < expandedRows) {
-                    Coordinate down = new Coordinate(space.getRow() + 1, space.getColumn());
+                    Coordinate down = Coordinate.of(space.getRow() + 1, space.getColumn());
                     if (!(pipeLocations.contains(down) || spacesToCheck.contains(down))) {
                         spacesToCheck.add(down);
                     }
                 }
                 if (space.getColumn() > 0) {
-                    Coordinate left = new Coordinate(space.getRow(), space.getColumn() - 1);
+                    Coordinate left = Coordinate.of(space.getRow(), space.getColumn() - 1);
                     if (!(pipeLocations.contains(left) || spacesToCheck.contains(left))) {
                         spacesToCheck.add(left);
                     }
                 }
                 if (space.getRow() > 0) {
-                    Coordinate up = new Coordinate(space.getRow() - 1, space.getColumn());
+                    Coordinate up = Coordinate.of(space.getRow() - 1, space.getColumn());
                     if (!(pipeLocations.contains(up) || spacesToCheck.contains(up))) {
                         spacesToCheck.add(up);
                     }
@@ -361,7 +377,7 @@ public class Day10 {
         int outsideSpace = //
                          (int) IntStream.rangeClosed(1, row.get())
                                         .flatMap(r -> IntStream.rangeClosed(1, column.get())
-                                                               .filter(c -> outsideSpaces.contains(new Coordinate(r * 3 - 1,
+                                                               .filter(c -> outsideSpaces.contains(Coordinate.of(r * 3 - 1,
                                                                                                                   c * 3 - 1))))
                                         .count();
         int enclosedSpace = totalSpace - pipes - outsideSpace;
@@ -377,7 +393,7 @@ public class Day10 {
         log.trace("{} expands to:", pipe);
 
         return Stream.concat(Stream.of(new int[] { 0, 0 }), pipe.type.connectionDirections.stream())
-                     .map(i -> new Coordinate(pipe.location.getRow() * 3 - 1 + i[0],
+                     .map(i -> Coordinate.of(pipe.location.getRow() * 3 - 1 + i[0],
                                               pipe.location.getColumn() * 3 - 1 + i[1]))
                      .peek(c -> log.trace(c.toString()));
     }
@@ -13,6 +13,7 @@ import org.slf4j.LoggerFactory;
 
 import aoc.Coordinate;
 import aoc.FileUtils;
+import aoc.Solver;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
@@ -23,7 +24,7 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day11 {
+public class Day11 implements Solver {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day11.class);
 
@@ -61,6 +62,21 @@ public class Day11 {
         log.info("The sum of the shortest paths between the stars is: {} (should be higher than 2070665131)", solve(lines, 1_000_000));
     }
 
+    @Override
+    public int getDay() {
+        return 11;
+    }
+
+    @Override
+    public long solvePart1(final List<String> lines) {
+        return solve(lines, 2);
+    }
+
+    @Override
+    public long solvePart2(final List<String> lines) {
+        return solve(lines, 1_000_000);
+    }
+
     /**
      * Expand the universe, by a factor of n, then find the length of the
      * shortest path between every pair of galaxies. What is the sum of these
@@ -73,7 +89,7 @@ public class Day11 {
      * @return The sum of the shortest paths between each permutation of star
      *         pairs.
      */
-    private static long solve(final List<String> lines, int factor) {
+    static long solve(final List<String> lines, int factor) {
 
         // Find stars
         int rows = lines.size();
@@ -128,7 +144,7 @@ public class Day11 {
                                                      int columnsToAdd = (int) IterableUtils.countMatches(emptyColumns,
                                                                                                          c -> c < s.getColumn()) *
                                                                         (factor - 1);
-                                                     return new Coordinate(s.getRow() + rowsToAdd,
+                                                     return Coordinate.of(s.getRow() + rowsToAdd,
                                                                            s.getColumn() + columnsToAdd);
                                                  })
                                                  .collect(Collectors.toSet());
@@ -152,7 +168,7 @@ public class Day11 {
                                        .flatMap(l -> l.chars()
                                                       .peek(c -> column.incrementAndGet())
                                                       .filter(c -> c != '.')
-                                                      .mapToObj(c -> new Coordinate(row.get(), column.get())))
+                                                      .mapToObj(c -> Coordinate.of(row.get(), column.get())))
                                        .collect(Collectors.toSet());
 
         log.atDebug().setMessage("Star map:\n{}")
@@ -194,7 +210,7 @@ public class Day11 {
         StringBuilder printout = new StringBuilder(rows * columns + rows);
 
         while (location < (rows + 1) * columns) {
-            printout.append(coordinates.contains(new Coordinate(location / columns, location % columns + 1)) ? "*"
+            printout.append(coordinates.contains(Coordinate.of(location / columns, location % columns + 1)) ? "*"
                                                                                                              : ".");
 
             if (location % columns == columns - 1)
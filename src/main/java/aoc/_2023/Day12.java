@@ -11,6 +11,7 @@ import java.util.stream.Stream;
 import org.slf4j.LoggerFactory;
 
 import aoc.FileUtils;
+import aoc.StreamingSolver;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
@@ -21,7 +22,7 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day12 {
+public class Day12 implements StreamingSolver {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day12.class);
 
@@ -62,6 +63,31 @@ public class Day12 {
                  part2(lines));
     }
 
+    @Override
+    public int getDay() {
+        return 12;
+    }
+
+    @Override
+    public long solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+
+    @Override
+    public long solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+
+    @Override
+    public long solvePart1(final Stream<String> lines) {
+        return part1(lines);
+    }
+
+    @Override
+    public long solvePart2(final Stream<String> lines) {
+        return part2(lines);
+    }
+
     /**
      * For each row, count all of the different arrangements of operational and
      * broken springs that meet the given criteria. What is the sum of those
@@ -71,16 +97,22 @@ public class Day12 {
      *     The lines containing information about the springs
      * @return The sum of the different arrangements of the springs
      */
-    private static long part1(final List<String> lines) {
+    static long part1(final List<String> lines) {
+        return part1(lines.stream());
+    }
 
-        Map<String, Long> cache = new HashMap<>();
+    /**
+     * As {@link #part1(List)}, consuming the lines lazily. The cache keys
+     * include the whole of the remaining row, so a new cache is used for each
+     * row and dropped after it.
+     */
+    static long part1(final Stream<String> lines) {
 
-        return lines.stream()
-                    .peek(log::debug)
+        return lines.peek(log::debug)
                     .mapToLong(l -> countCombinations(l.split(" ")[0],
                                                       Stream.of(l.split(" ")[1].split(",")).map(Integer::parseInt)
                                                             .collect(Collectors.toList()),
-                                                      cache))
+                                                      new HashMap<>()))
                     .peek(i -> log.debug("{} combinations", i))
                     .sum();
     }
@@ -95,11 +127,17 @@ public class Day12 {
      *     times.
      * @return The sum of the different arrangements of the springs
      */
-    private static long part2(final List<String> lines) {
+    static long part2(final List<String> lines) {
+        return part2(lines.stream());
+    }
 
-        Map<String, Long> cache = new HashMap<>();
-        return lines.stream()
-                    .peek(log::debug)
+    /**
+     * As {@link #part2(List)}, consuming the lines lazily, with a new cache for
+     * each row.
+     */
+    static long part2(final Stream<String> lines) {
+
+        return lines.peek(log::debug)
                     .mapToLong(l -> countCombinations(Collections.nCopies(5, l.split(" ")[0])
                                                                  .stream()
                                                                  .collect(Collectors.joining("?")),
@@ -109,8 +147,8 @@ public class Day12 {
                                                                            .split(","))
                                                             .map(Integer::parseInt)
                                                             .collect(Collectors.toList()),
-                                                      cache))
-                    .peek(i -> log.debug("{} combinations (cache size: {})", i, cache.size()))
+                                                      new HashMap<>()))
+                    .peek(i -> log.debug("{} combinations", i))
                     .sum();
     }
 
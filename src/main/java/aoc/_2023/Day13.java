@@ -11,6 +11,7 @@ import org.slf4j.LoggerFactory;
 
 import aoc.Coordinate;
 import aoc.FileUtils;
+import aoc.Solver;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
@@ -21,7 +22,7 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day13 {
+public class Day13 implements Solver {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day13.class);
 
@@ -59,6 +60,21 @@ public class Day13 {
         log.info("The sum of the note summaries is: {}", part2(lines));
     }
 
+    @Override
+    public int getDay() {
+        return 13;
+    }
+
+    @Override
+    public long solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+
+    @Override
+    public long solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+
     /**
      * Find the line of reflection in each of the patterns in your notes. What
      * number do you get after summarizing all of your notes?
@@ -68,7 +84,7 @@ public class Day13 {
      * @return The sum of the columns and 100 * the rows before the axis of
      *     reflection.
      */
-    private static int part1(final List<String> lines) {
+    static int part1(final List<String> lines) {
 
         // Parse out each block
         List<List<String>> blocks = new ArrayList<>();
@@ -98,7 +114,7 @@ public class Day13 {
      * @return The sum of the columns and 100 * the rows before the axis of
      *     reflection.
      */
-    private static int part2(final List<String> lines) {
+    static int part2(final List<String> lines) {
 
         // Parse out each block
         List<List<String>> blocks = new ArrayList<>();
@@ -154,7 +170,7 @@ public class Day13 {
             Set<Coordinate> shortSide = coordinates.stream()
                                                    .filter(c -> shortSideRange.contains(c.getRow()))
                                                    // Translate the coordinates and check if there is a match
-                                                   .map(c -> new Coordinate(c.getRow() + 2 * (i - c.getRow()) - 1,
+                                                   .map(c -> Coordinate.of(c.getRow() + 2 * (i - c.getRow()) - 1,
                                                                             c.getColumn()))
                                                    .collect(Collectors.toSet());
 
@@ -189,7 +205,7 @@ public class Day13 {
             Set<Coordinate> shortSide = coordinates.stream()
                                                    .filter(c -> shortSideRange.contains(c.getColumn()))
                                                    // Translate the coordinates and check if there is a match
-                                                   .map(c -> new Coordinate(c.getRow(),
+                                                   .map(c -> Coordinate.of(c.getRow(),
                                                                             c.getColumn() + 2 * (i - c.getColumn())
                                                                                         - 1))
                                                    .collect(Collectors.toSet());
@@ -252,7 +268,7 @@ public class Day13 {
             Set<Coordinate> shortSide = coordinates.stream()
                                                    .filter(c -> shortSideRange.contains(c.getRow()))
                                                    // Translate the coordinates and check if there is a match
-                                                   .map(c -> new Coordinate(c.getRow() + 2 * (i - c.getRow()) - 1,
+                                                   .map(c -> Coordinate.of(c.getRow() + 2 * (i - c.getRow()) - 1,
                                                                             c.getColumn()))
                                                    .collect(Collectors.toSet());
 
@@ -287,7 +303,7 @@ public class Day13 {
             Set<Coordinate> shortSide = coordinates.stream()
                                                    .filter(c -> shortSideRange.contains(c.getColumn()))
                                                    // Translate the coordinates and check if there is a match
-                                                   .map(c -> new Coordinate(c.getRow(),
+                                                   .map(c -> Coordinate.of(c.getRow(),
                                                                             c.getColumn() + 2 * (i - c.getColumn())
                                                                                         - 1))
                                                    .collect(Collectors.toSet());
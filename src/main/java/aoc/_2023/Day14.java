@@ -1,22 +1,24 @@
 package aoc._2023;
 
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-
-import org.apache.commons.collections4.IterableUtils;
-import org.apache.commons.lang3.Range;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
 import org.slf4j.LoggerFactory;
 
-import aoc.Coordinate;
+import aoc.CycleDetector;
 import aoc.FileUtils;
+import aoc.Metrics;
+import aoc.Solver;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
@@ -27,7 +29,7 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day14 {
+public class Day14 implements Solver {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day14.class);
 
@@ -39,6 +41,325 @@ public class Day14 {
 
     private static final char SQUARE_ROCK_CHAR = '#';
 
+    private static final char EMPTY_CHAR = '.';
+
+    private static final int SPIN_CYCLES = 1_000_000_000;
+
+    /** Fixed, so fingerprints are the same from run to run. */
+    private static final long ZOBRIST_SEED = 14;
+
+    /**
+     * The platform as bitboards: the rocks in each row are a run of bits,
+     * packed into longs. Rolling the round rocks in a direction only needs
+     * the number of them in each stretch of free space between the square
+     * rocks (and the edges), so each tilt is a popcount and a fill of each
+     * precomputed stretch. Tilting north or south transposes the bitboard, so
+     * the stretches run along the words either way.
+     * <p>
+     * The platform also keeps a Zobrist fingerprint of the round rocks: the
+     * XOR of a random key for each cell with a round rock in it. Each tilt
+     * updates it with the keys of just the cells which changed.
+     */
+    private static final class Platform {
+        final int rows;
+        final int columns;
+
+        /** The round rocks, {@link #rowWords} words per row. */
+        private long[] roundRocks;
+        /** Scratch space for the round rocks with the rows and columns swapped. */
+        private long[] transposed;
+
+        private final int rowWords;
+        private final int columnWords;
+
+        /** The free stretches of each row, as the row, start, and end (exclusive). */
+        private final int[] rowRuns;
+        /** The free stretches of each column, as the column, start, and end (exclusive). */
+        private final int[] columnRuns;
+
+        /** The square rocks, only needed to print the platform. */
+        private final long[] squareRocks;
+
+        /** The Zobrist key of each bit of the bitboard, and of the transposed bitboard. */
+        private final long[] rowKeys;
+        private final long[] columnKeys;
+
+        private long fingerprint;
+
+        Platform(final List<String> lines) {
+            rows = lines.size();
+            columns = lines.get(0).length();
+            rowWords = wordsFor(columns);
+            columnWords = wordsFor(rows);
+
+            roundRocks = new long[rows * rowWords];
+            squareRocks = new long[rows * rowWords];
+            for (int row = 0; row < rows; row++) {
+                String line = lines.get(row);
+                for (int column = 0; column < columns; column++) {
+                    if (line.charAt(column) == ROUND_ROCK_CHAR)
+                        setBit(roundRocks, row * rowWords, column);
+                    else if (line.charAt(column) == SQUARE_ROCK_CHAR)
+                        setBit(squareRocks, row * rowWords, column);
+                }
+            }
+
+            long[] transposedSquareRocks = new long[columns * columnWords];
+            transpose(squareRocks, rows, columns, transposedSquareRocks);
+            rowRuns = findRuns(squareRocks, rows, columns);
+            columnRuns = findRuns(transposedSquareRocks, columns, rows);
+
+            transposed = new long[columns * columnWords];
+
+            rowKeys = new long[roundRocks.length * Long.SIZE];
+            columnKeys = new long[transposed.length * Long.SIZE];
+            SplittableRandom random = new SplittableRandom(ZOBRIST_SEED);
+            for (int row = 0; row < rows; row++) {
+                for (int column = 0; column < columns; column++) {
+                    long key = random.nextLong();
+                    rowKeys[row * rowWords * Long.SIZE + column] = key;
+                    columnKeys[column * columnWords * Long.SIZE + row] = key;
+                    if (getBit(roundRocks, row * rowWords, column))
+                        fingerprint ^= key;
+                }
+            }
+        }
+
+        /**
+         * Copy a platform, sharing the square rocks and what's worked out
+         * from them, which never change once the platform has been parsed,
+         * and copying the round rocks.
+         */
+        private Platform(Platform platform) {
+            rows = platform.rows;
+            columns = platform.columns;
+            rowWords = platform.rowWords;
+            columnWords = platform.columnWords;
+            rowRuns = platform.rowRuns;
+            columnRuns = platform.columnRuns;
+            squareRocks = platform.squareRocks;
+            rowKeys = platform.rowKeys;
+            columnKeys = platform.columnKeys;
+
+            roundRocks = platform.roundRocks.clone();
+            transposed = new long[platform.transposed.length];
+            fingerprint = platform.fingerprint;
+        }
+
+        private static int wordsFor(int bits) {
+            return (bits + Long.SIZE - 1) / Long.SIZE;
+        }
+
+        private static void setBit(long[] bits, int lineStart, int index) {
+            bits[lineStart + (index >>> 6)] |= 1L << index;
+        }
+
+        private static boolean getBit(long[] bits, int lineStart, int index) {
+            return (bits[lineStart + (index >>> 6)] & (1L << index)) != 0;
+        }
+
+        /**
+         * @return The start and end (exclusive) of each stretch of lines
+         *     without any square rocks, prefixed by the line it's on.
+         */
+        private static int[] findRuns(long[] squareRocks, int lines, int length) {
+            int words = wordsFor(length);
+            List<Integer> runs = new ArrayList<>();
+            for (int line = 0; line < lines; line++) {
+                int start = 0;
+                for (int index = 0; index <= length; index++) {
+                    if (index == length || getBit(squareRocks, line * words, index)) {
+                        // Stretches of one can't change, so don't bother tilting them
+                        if (index - start > 1) {
+                            runs.add(line);
+                            runs.add(start);
+                            runs.add(index);
+                        }
+                        start = index + 1;
+                    }
+                }
+            }
+            return runs.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        /**
+         * Roll all of the round rocks in each stretch to its start or end.
+         * 
+         * @return The XOR of the keys of every bit which changed.
+         */
+        private static long tilt(long[] bits, int words, int[] runs, boolean toStart, long[] keys) {
+            long fingerprintChange = 0;
+            for (int i = 0; i < runs.length; i += 3) {
+                int lineStart = runs[i] * words;
+                int start = runs[i + 1];
+                int end = runs[i + 2];
+
+                int count = 0;
+                for (int word = start >>> 6; word <= (end - 1) >>> 6; word++)
+                    count += Long.bitCount(bits[lineStart + word] & rangeMask(word, start, end));
+
+                if (count == 0 || count == end - start)
+                    continue;
+
+                int fillStart = toStart ? start : end - count;
+                int fillEnd = toStart ? start + count : end;
+                for (int word = start >>> 6; word <= (end - 1) >>> 6; word++) {
+                    long before = bits[lineStart + word];
+                    long after = (before & ~rangeMask(word, start, end)) | rangeMask(word, fillStart, fillEnd);
+                    bits[lineStart + word] = after;
+
+                    for (long changed = before ^ after; changed != 0; changed &= changed - 1)
+                        fingerprintChange ^= keys[(lineStart + word) * Long.SIZE + Long.numberOfTrailingZeros(changed)];
+                }
+            }
+            return fingerprintChange;
+        }
+
+        /**
+         * @return The bits of the given word which are between the start and
+         *     end (exclusive) of a line.
+         */
+        private static long rangeMask(int word, int start, int end) {
+            int wordStart = word << 6;
+            if (end <= wordStart || start >= wordStart + Long.SIZE)
+                return 0;
+            long mask = -1L;
+            if (start > wordStart)
+                mask &= -1L << (start - wordStart);
+            if (end < wordStart + Long.SIZE)
+                mask &= -1L >>> (wordStart + Long.SIZE - end);
+            return mask;
+        }
+
+        /**
+         * Swap the rows and columns of a bitboard, a 64 by 64 block at a
+         * time.
+         * 
+         * @param source
+         *     The bitboard, with the given number of lines of the given
+         *     length.
+         * @param lines
+         *     The number of lines in the source.
+         * @param length
+         *     The number of bits in each line of the source.
+         * @param target
+         *     The bitboard to overwrite with length lines of the given
+         *     number of bits.
+         */
+        private static void transpose(long[] source, int lines, int length, long[] target) {
+            int sourceWords = wordsFor(length);
+            int targetWords = wordsFor(lines);
+            long[] block = new long[Long.SIZE];
+            for (int lineBlock = 0; lineBlock < targetWords; lineBlock++) {
+                for (int word = 0; word < sourceWords; word++) {
+                    for (int i = 0; i < Long.SIZE; i++) {
+                        int line = (lineBlock << 6) + i;
+                        block[i] = line < lines ? source[line * sourceWords + word] : 0;
+                    }
+                    transpose64(block);
+                    for (int i = 0; i < Long.SIZE; i++) {
+                        int line = (word << 6) + i;
+                        if (line < length)
+                            target[line * targetWords + lineBlock] = block[i];
+                    }
+                }
+            }
+        }
+
+        /**
+         * Transpose a 64 by 64 bit matrix in place, where bit j of word i is
+         * row i, column j, by recursively swapping the off-diagonal quarters
+         * (from Hacker's Delight).
+         */
+        private static void transpose64(long[] block) {
+            long mask = 0x00000000FFFFFFFFL;
+            for (int j = 32; j != 0; j >>>= 1, mask ^= mask << j) {
+                for (int k = 0; k < Long.SIZE; k = ((k | j) + 1) & ~j) {
+                    long swap = ((block[k] >>> j) ^ block[k | j]) & mask;
+                    block[k] ^= swap << j;
+                    block[k | j] ^= swap;
+                }
+            }
+        }
+
+        void tiltNorth() {
+            transpose(roundRocks, rows, columns, transposed);
+            fingerprint ^= tilt(transposed, columnWords, columnRuns, true, columnKeys);
+            transpose(transposed, columns, rows, roundRocks);
+        }
+
+        /**
+         * @return A copy of this platform, after a spin cycle.
+         */
+        Platform afterSpinCycle() {
+            Platform next = new Platform(this);
+            next.spinCycle();
+            return next;
+        }
+
+        /**
+         * Tilt the platform north, west, south, then east.
+         */
+        void spinCycle() {
+            transpose(roundRocks, rows, columns, transposed);
+            fingerprint ^= tilt(transposed, columnWords, columnRuns, true, columnKeys);
+            transpose(transposed, columns, rows, roundRocks);
+            fingerprint ^= tilt(roundRocks, rowWords, rowRuns, true, rowKeys);
+            transpose(roundRocks, rows, columns, transposed);
+            fingerprint ^= tilt(transposed, columnWords, columnRuns, false, columnKeys);
+            transpose(transposed, columns, rows, roundRocks);
+            fingerprint ^= tilt(roundRocks, rowWords, rowRuns, false, rowKeys);
+        }
+
+        /**
+         * @return The total load on the north support beams, where each round
+         *     rock's load is the number of rows from it to the south edge,
+         *     including its own.
+         */
+        int northLoad() {
+            int load = 0;
+            for (int row = 0; row < rows; row++) {
+                int rocks = 0;
+                for (int word = 0; word < rowWords; word++)
+                    rocks += Long.bitCount(roundRocks[row * rowWords + word]);
+                load += rocks * (rows - row);
+            }
+            return load;
+        }
+
+        /**
+         * @return The Zobrist fingerprint of the positions of the round rocks.
+         */
+        long fingerprint() {
+            return fingerprint;
+        }
+
+        /**
+         * @return True if the round rocks are in the same places on both
+         *     platforms.
+         */
+        boolean sameRoundRocks(Platform other) {
+            return Arrays.equals(roundRocks, other.roundRocks);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder printout = new StringBuilder();
+            for (int row = 0; row < rows; row++) {
+                for (int column = 0; column < columns; column++) {
+                    if (getBit(roundRocks, row * rowWords, column))
+                        printout.append(ROUND_ROCK_CHAR);
+                    else if (getBit(squareRocks, row * rowWords, column))
+                        printout.append(SQUARE_ROCK_CHAR);
+                    else
+                        printout.append(EMPTY_CHAR);
+                }
+                printout.append('\n');
+            }
+            return printout.toString();
+        }
+    }
+
     public static void main(String[] args) {
 
         log.info("Part 1:");
@@ -69,355 +390,156 @@ public class Day14 {
         log.info("The total load on the north support beam is: {}", part2(lines));
     }
 
-    /**
-     * Tilt the platform so that the rounded rocks all roll north. Afterward,
-     * what is the total load on the north support beams?
-     * 
-     * @param lines
-     *     The lines representing the positions of the rocks on the
-     *     platform.
-     * @return The total load on the north support beam.
-     */
-    private static int part1(final List<String> lines) {
-
-        int rows = lines.size();
-        int columns = lines.get(0).length();
-
-        // Parse the map for the squareRocks
-        Set<Coordinate> squareRocks = Coordinate.findCoordinates(lines, SQUARE_ROCK_CHAR);
-
-        // Add some implicit square rocks in last row
-        IntStream.rangeClosed(1, columns).mapToObj(c -> new Coordinate(rows + 1, c)).forEach(squareRocks::add);
-
-        // Parse the map for the roundRocks
-        Set<Coordinate> roundRocks = Coordinate.findCoordinates(lines, ROUND_ROCK_CHAR);
-
-        // For each column, count the round rocks between the square rocks
-        return IntStream.rangeClosed(1, columns).map(column -> {
-            AtomicInteger lastRow = new AtomicInteger(0);
-            Set<Coordinate> roundRocksInColumn = roundRocks.stream().filter(r -> r.getColumn() == column)
-                                                           .collect(Collectors.toSet());
-
-            int columnSum = squareRocks.stream()
-                                       .filter(r -> r.getColumn() == column)
-                                       .mapToInt(Coordinate::getRow)
-                                       .sorted()
-                                       .map(row -> {
-                                           int rocks = (int) IterableUtils.countMatches(roundRocksInColumn,
-                                                                                        r -> Range.of(lastRow.get() + 1,
-                                                                                                      row - 1)
-                                                                                                  .contains(r.getRow()));
-                                           int sum = 0;
-                                           if (rocks != 0) {
-                                               int maxValue = rows - lastRow.get();
-                                               sum = (int) (rocks * maxValue - rocks * (rocks - 1) / 2.);
-                                               log.trace("The sum from {} to {} is: {}", maxValue, maxValue - rocks + 1,
-                                                         sum);
-                                           }
-                                           lastRow.set(row);
-                                           return sum;
-                                       })
-                                       .sum();
-            log.debug("Column {} sum: {}", column, columnSum);
-            return columnSum;
-        }).sum();
+    @Override
+    public int getDay() {
+        return 14;
+    }
+
+    @Override
+    public long solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
 
+    @Override
+    public long solvePart2(final List<String> lines) {
+        return part2(lines);
     }
 
     /**
-     * Run the spin cycle for 1000000000 cycles. Afterward, what is the total
-     * load on the north support beams?
-     * 
-     * @param lines
-     *     The lines representing the positions of the rocks on the
-     *     platform.
-     * @return The total load on the north support beam after 1,000,000,000 spin
-     *     cycles.
+     * The answers to both parts for one platform in a batch.
      */
-    private static int part2(final List<String> lines) {
-
-        int rows = lines.size();
-        int columns = lines.get(0).length();
-
-        // Parse the map for the squareRocks
-        Set<Coordinate> squareRocks = Coordinate.findCoordinates(lines, SQUARE_ROCK_CHAR);
-
-        // Add some implicit square rocks around the frame
-        IntStream.rangeClosed(1, columns).mapToObj(c -> new Coordinate(0, c)).forEach(squareRocks::add);
-        IntStream.rangeClosed(1, columns).mapToObj(c -> new Coordinate(rows + 1, c)).forEach(squareRocks::add);
-        IntStream.rangeClosed(1, rows).mapToObj(r -> new Coordinate(r, 0)).forEach(squareRocks::add);
-        IntStream.rangeClosed(1, rows).mapToObj(r -> new Coordinate(r, columns + 1)).forEach(squareRocks::add);
-
-        // Parse the map for the roundRocks
-        Set<Coordinate> roundRocks = Coordinate.findCoordinates(lines, ROUND_ROCK_CHAR);
-
-        log.atDebug()
-           .setMessage("Start:\n{}")
-           .addArgument(() -> Coordinate.printMap(rows, columns, squareRocks, SQUARE_ROCK_CHAR, roundRocks,
-                                                  ROUND_ROCK_CHAR))
-           .log();
-
-        Set<Coordinate> nextRoundRocks = roundRocks;
-        Map<Set<Coordinate>, Set<Coordinate>> cacheMap = new HashMap<>();
-        int loopStart = 0;
-        int loopLength = 0;
-        Set<Coordinate> loopStartRocks = null;
-        for (int i = 1; i <= 1_000_000_000; i++) {
-
-            // Watch for a loop
-            if (loopStartRocks != null && loopStartRocks.equals(nextRoundRocks)) {
-                loopLength = i - loopStart;
-                log.info("Loop is {} cycles.", loopLength);
-
-                // Skip to the end (some whole multiple of the loop length)
-                i += ((1_000_000_000 - i) / loopLength) * loopLength;
-                log.info("Skipping to {}.", i);
-            } else if (loopStartRocks == null && cacheMap.containsKey(nextRoundRocks)) {
-                log.info("Loop starts after {} cycles.", i);
-                loopStart = i;
-                loopStartRocks = nextRoundRocks;
-            }
-
-            nextRoundRocks = cacheMap.computeIfAbsent(nextRoundRocks, n -> spinCycle(rows, columns, n, squareRocks));
-
-            boolean plural = i > 1;
-            Set<Coordinate> printRoundRocks = nextRoundRocks;
-            if (i < 10 || Math.log10(i) % 1 == 0) {
-                log.info("After {} cycle{} cache size is:\n{}", i, plural ? "s" : "", cacheMap.size());
-                log.atDebug()
-                   .setMessage("After {} cycle{}:\n{}")
-                   .addArgument(i)
-                   .addArgument(() -> plural ? "s" : "")
-                   .addArgument(() -> Coordinate.printMap(rows, columns,
-                                                          squareRocks, SQUARE_ROCK_CHAR,
-                                                          printRoundRocks, ROUND_ROCK_CHAR))
-                   .log();
-            }
+    static final class PlatformLoads {
+        /** The position of the platform in the batch. */
+        final int index;
+        /** The total load after tilting north. */
+        final int northLoad;
+        /** The total load after all of the spin cycles. */
+        final int spinCycleLoad;
+
+        PlatformLoads(int index, int northLoad, int spinCycleLoad) {
+            this.index = index;
+            this.northLoad = northLoad;
+            this.spinCycleLoad = spinCycleLoad;
         }
 
-        // Compute the load on the north support beam
-        return computeLoad(nextRoundRocks, rows);
+        @Override
+        public String toString() {
+            return String.format("Platform %d: north load %d, spin cycle load %d", index, northLoad, spinCycleLoad);
+        }
     }
 
-    private static int computeLoad(Set<Coordinate> nextRoundRocks, int rows) {
-        return nextRoundRocks.stream().mapToInt(Coordinate::getRow).map(r -> rows - r + 1).sum();
+    /**
+     * Solve both parts for many platforms at once, on the common
+     * {@link ForkJoinPool}.
+     * 
+     * @see #solveAll(List, Executor)
+     */
+    static Stream<PlatformLoads> solveAll(final List<List<String>> platforms) {
+        return solveAll(platforms, ForkJoinPool.commonPool());
     }
 
     /**
-     * Translate the round rocks as far as they can go north, west, south, then
-     * east.
+     * Solve both parts for many platforms at once, each platform in its own
+     * task. The tasks share nothing that changes, except the thread-safe
+     * {@link Metrics}, and never change the log level, so each one is the
+     * same as calling {@link #part1(List)} and {@link #part2(List)} on its
+     * own.
      * 
-     * @param rows
-     *     The number of rows in the map.
-     * @param columns
-     *     The number of columns in the map.
-     * @param roundRocks
-     *     The positions of the round rocks.
-     * @param squareRocks
-     *     The positions of the square rocks.
-     * @return The positions of the round rocks after translation.
+     * @param platforms
+     *     The lines of each platform.
+     * @param executor
+     *     Runs the task for each platform.
+     * @return The loads of each platform, in the order they're finished
+     *     rather than the order of the platforms. Reading the stream waits for
+     *     the next platform to finish.
+     * @throws CompletionException
+     *     From the stream, if solving a platform failed.
      */
-    private static Set<Coordinate> spinCycle(int rows, int columns, Set<Coordinate> roundRocks,
-                                             Set<Coordinate> squareRocks) {
-        Set<Coordinate> rocksLeftToTranslate = new HashSet<>(roundRocks);
-        Set<Coordinate> translatedRocks = new HashSet<>();
-
-        // Translate all rocks north
-        // Fill each row with the next round rock in the column
-        for (int row = 1; row <= rows; row++) {
-            for (int column = 1; column <= columns; column++) {
-                Coordinate coordinateToCheck = new Coordinate(row, column);
-                // If there's already a square stone here, continue
-                if (squareRocks.contains(coordinateToCheck))
-                    continue;
-
-                // If there's already a round stone here, copy it to the translated set and
-                // continue
-                if (rocksLeftToTranslate.contains(coordinateToCheck)) {
-                    rocksLeftToTranslate.remove(coordinateToCheck);
-                    translatedRocks.add(coordinateToCheck);
-                    continue;
-                }
-
-                // Look down the column for the next round rock, stop at square rocks
-                int columnToCheck = column;
-                int rowToCheck = row;
-                int nextSquareRockRow = squareRocks.stream().filter(r -> r.getColumn() == columnToCheck &&
-                                                                         r.getRow() >= rowToCheck)
-                                                   .mapToInt(Coordinate::getRow)
-                                                   .min()
-                                                   .getAsInt();
-                Range<Integer> rowsToCheck = Range.of(row, nextSquareRockRow - 1);
-                Optional<Coordinate> rock = rocksLeftToTranslate.stream()
-                                                                .filter(r -> r.getColumn() == columnToCheck &&
-                                                                             rowsToCheck.contains(r.getRow()))
-                                                                .sorted(Comparator.comparing(Coordinate::getRow))
-                                                                .findFirst();
-                rock.ifPresent(r -> {
-                    rocksLeftToTranslate.remove(r);
-                    translatedRocks.add(coordinateToCheck);
-                });
-            }
+    static Stream<PlatformLoads> solveAll(final List<List<String>> platforms, final Executor executor) {
+        CompletionService<PlatformLoads> completionService = new ExecutorCompletionService<>(executor);
+        for (int i = 0; i < platforms.size(); i++) {
+            int index = i;
+            List<String> lines = platforms.get(i);
+            completionService.submit(() -> new PlatformLoads(index, part1(lines), part2(lines)));
         }
-        if (!rocksLeftToTranslate.isEmpty())
-            log.error("Didn't translate all rocks north! Remaining: {}", rocksLeftToTranslate);
-
-        log.atTrace()
-           .setMessage("After north:\n{}")
-           .addArgument(() -> Coordinate.printMap(rows, columns,
-                                                  squareRocks, SQUARE_ROCK_CHAR,
-                                                  translatedRocks, ROUND_ROCK_CHAR))
-           .log();
-
-        // Translate all rocks west
-        rocksLeftToTranslate.addAll(translatedRocks);
-        translatedRocks.clear();
-        // Fill each column with the next round rock in the row
-        for (int column = 1; column <= columns; column++) {
-            for (int row = 1; row <= rows; row++) {
-                Coordinate coordinateToCheck = new Coordinate(row, column);
-                // If there's already a square stone here, continue
-                if (squareRocks.contains(coordinateToCheck))
-                    continue;
 
-                // If there's already a round stone here, copy it to the translated set and
-                // continue
-                if (rocksLeftToTranslate.contains(coordinateToCheck)) {
-                    rocksLeftToTranslate.remove(coordinateToCheck);
-                    translatedRocks.add(coordinateToCheck);
-                    continue;
-                }
-
-                // Look down the row for the next round rock, stop at square rocks
-                int columnToCheck = column;
-                int rowToCheck = row;
-                int nextSquareRockColumn = squareRocks.stream().filter(r -> r.getColumn() >= columnToCheck &&
-                                                                            r.getRow() == rowToCheck)
-                                                      .mapToInt(Coordinate::getColumn)
-                                                      .min()
-                                                      .getAsInt();
-                Range<Integer> columnsToCheck = Range.of(column, nextSquareRockColumn - 1);
-                Optional<Coordinate> rock = rocksLeftToTranslate.stream()
-                                                                .filter(r -> r.getRow() == rowToCheck &&
-                                                                             columnsToCheck.contains(r.getColumn()))
-                                                                .sorted(Comparator.comparing(Coordinate::getColumn))
-                                                                .findFirst();
-                rock.ifPresent(r -> {
-                    rocksLeftToTranslate.remove(r);
-                    translatedRocks.add(coordinateToCheck);
-                });
+        return Stream.generate(() -> {
+            try {
+                return completionService.take().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            } catch (ExecutionException e) {
+                throw new CompletionException(e.getCause());
             }
-        }
-        if (!rocksLeftToTranslate.isEmpty())
-            log.error("Didn't translate all rocks west! Remaining: {}", rocksLeftToTranslate);
-
-        log.atTrace()
-           .setMessage("After west:\n{}")
-           .addArgument(() -> Coordinate.printMap(rows, columns,
-                                                  squareRocks, SQUARE_ROCK_CHAR,
-                                                  translatedRocks, ROUND_ROCK_CHAR))
-           .log();
-
-        // Translate all rocks south
-        rocksLeftToTranslate.addAll(translatedRocks);
-        translatedRocks.clear();
-        // Fill each row with the next round rock in the column
-        for (int row = rows; row >= 1; row--) {
-            for (int column = 1; column <= columns; column++) {
-                Coordinate coordinateToCheck = new Coordinate(row, column);
-                // If there's already a square stone here, continue
-                if (squareRocks.contains(coordinateToCheck))
-                    continue;
-
-                // If there's already a round stone here, copy it to the translated set and
-                // continue
-                if (rocksLeftToTranslate.contains(coordinateToCheck)) {
-                    rocksLeftToTranslate.remove(coordinateToCheck);
-                    translatedRocks.add(coordinateToCheck);
-                    continue;
-                }
+        })
+                     .limit(platforms.size());
+    }
 
-                // Look up the column for the next round rock, stop at square rocks
-                int columnToCheck = column;
-                int rowToCheck = row;
-                int nextSquareRockRow = squareRocks.stream().filter(r -> r.getColumn() == columnToCheck &&
-                                                                         r.getRow() <= rowToCheck)
-                                                   .mapToInt(Coordinate::getRow)
-                                                   .max()
-                                                   .getAsInt();
-                Range<Integer> rowsToCheck = Range.of(row, nextSquareRockRow + 1);
-                Optional<Coordinate> rock = rocksLeftToTranslate.stream()
-                                                                .filter(r -> r.getColumn() == columnToCheck &&
-                                                                             rowsToCheck.contains(r.getRow()))
-                                                                .sorted(Comparator.comparing(Coordinate::getRow))
-                                                                .findFirst();
-                rock.ifPresent(r -> {
-                    rocksLeftToTranslate.remove(r);
-                    translatedRocks.add(coordinateToCheck);
-                });
-            }
-        }
+    /**
+     * Parse the positions of the rocks on the platform.
+     * 
+     * @param lines
+     *     The lines representing the positions of the rocks on the
+     *     platform.
+     * @return The platform.
+     */
+    static Platform parsePlatform(final List<String> lines) {
+        return new Platform(lines);
+    }
 
-        if (!rocksLeftToTranslate.isEmpty())
-            log.error("Didn't translate all rocks south! Remaining: {}", rocksLeftToTranslate);
-
-        log.atTrace()
-           .setMessage("After south:\n{}")
-           .addArgument(() -> Coordinate.printMap(rows, columns,
-                                                  squareRocks, SQUARE_ROCK_CHAR,
-                                                  translatedRocks, ROUND_ROCK_CHAR))
-           .log();
-
-        // Translate all rocks east
-        rocksLeftToTranslate.addAll(translatedRocks);
-        translatedRocks.clear();
-        // Fill each column with the next round rock in the row
-        for (int column = columns; column >= 1; column--) {
-            for (int row = 1; row <= rows; row++) {
-                Coordinate coordinateToCheck = new Coordinate(row, column);
-                // If there's already a square stone here, continue
-                if (squareRocks.contains(coordinateToCheck))
-                    continue;
+    /**
+     * Tilt the platform so that the rounded rocks all roll north. Afterward,
+     * what is the total load on the north support beams?
+     * 
+     * @param lines
+     *     The lines representing the positions of the rocks on the
+     *     platform.
+     * @return The total load on the north support beam.
+     */
+    static int part1(final List<String> lines) {
 
-                // If there's already a round stone here, copy it to the translated set and
-                // continue
-                if (rocksLeftToTranslate.contains(coordinateToCheck)) {
-                    rocksLeftToTranslate.remove(coordinateToCheck);
-                    translatedRocks.add(coordinateToCheck);
-                    continue;
-                }
+        Platform platform = parsePlatform(lines);
+        log.debug("Start:\n{}", platform);
 
-                // Look down the row for the next round rock, stop at square rocks
-                int columnToCheck = column;
-                int rowToCheck = row;
-                int nextSquareRockColumn = squareRocks.stream().filter(r -> r.getColumn() <= columnToCheck &&
-                                                                            r.getRow() == rowToCheck)
-                                                      .mapToInt(Coordinate::getColumn)
-                                                      .max()
-                                                      .getAsInt();
-                Range<Integer> columnsToCheck = Range.of(column, nextSquareRockColumn + 1);
-                Optional<Coordinate> rock = rocksLeftToTranslate.stream()
-                                                                .filter(r -> r.getRow() == rowToCheck &&
-                                                                             columnsToCheck.contains(r.getColumn()))
-                                                                .sorted(Comparator.comparing(Coordinate::getColumn))
-                                                                .findFirst();
-                rock.ifPresent(r -> {
-                    rocksLeftToTranslate.remove(r);
-                    translatedRocks.add(coordinateToCheck);
-                });
-            }
-        }
-        if (!rocksLeftToTranslate.isEmpty())
-            log.error("Didn't translate all rocks east! Remaining: {}", rocksLeftToTranslate);
+        platform.tiltNorth();
+        log.debug("After north:\n{}", platform);
 
-        log.atTrace()
-           .setMessage("After east:\n{}")
-           .addArgument(() -> Coordinate.printMap(rows, columns,
-                                                  squareRocks, SQUARE_ROCK_CHAR,
-                                                  translatedRocks, ROUND_ROCK_CHAR))
-           .log();
+        return platform.northLoad();
+    }
 
-        return translatedRocks;
+    /**
+     * Run the spin cycle for 1000000000 cycles. Afterward, what is the total
+     * load on the north support beams?
+     * 
+     * @param lines
+     *     The lines representing the positions of the rocks on the
+     *     platform.
+     * @return The total load on the north support beam after 1,000,000,000 spin
+     *     cycles.
+     */
+    static int part2(final List<String> lines) {
+
+        Platform platform = parsePlatform(lines);
+        log.debug("Start:\n{}", platform);
+
+        // Brent's algorithm only keeps two platforms at a time, and compares fingerprints before the rocks
+        Metrics.Phase cycleDetect = Metrics.phase("Day14.cycle-detect");
+        UnaryOperator<Platform> spinCycle = p -> {
+            Metrics.increment("Day14.spin-cycles");
+            return p.afterSpinCycle();
+        };
+        CycleDetector.Cycle<Platform> loop = CycleDetector.of(platform, spinCycle)
+                                                          .withFingerprint(Platform::fingerprint)
+                                                          .withEquality(Platform::sameRoundRocks)
+                                                          .brent();
+        cycleDetect.stop();
+        log.info("Loop starts after {} cycles, and is {} cycles.", loop.getStart(), loop.getLength());
+
+        Platform last = loop.stateAt(SPIN_CYCLES);
+        log.debug("After {} cycles:\n{}", SPIN_CYCLES, last);
+
+        return last.northLoad();
     }
 
-}
\ No newline at end of file
+}
@@ -13,6 +13,7 @@ import org.apache.commons.collections4.IterableUtils;
 import org.slf4j.LoggerFactory;
 
 import aoc.FileUtils;
+import aoc.StreamingSolver;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
@@ -23,7 +24,7 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day15 {
+public class Day15 implements StreamingSolver {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day15.class);
 
@@ -79,6 +80,40 @@ public class Day15 {
                  part2(Arrays.asList(lines.get(0).split(","))));
     }
 
+    @Override
+    public int getDay() {
+        return 15;
+    }
+
+    @Override
+    public long solvePart1(final List<String> lines) {
+        return part1(lines.get(0));
+    }
+
+    @Override
+    public long solvePart2(final List<String> lines) {
+        return part2(Arrays.asList(lines.get(0).split(",")));
+    }
+
+    /**
+     * The initialization sequence is a single comma separated line, so stream
+     * it one step at a time.
+     */
+    @Override
+    public Stream<String> streamInput() {
+        return FileUtils.readFileToStream(INPUT_TXT, ',');
+    }
+
+    @Override
+    public long solvePart1(final Stream<String> steps) {
+        return part1(steps);
+    }
+
+    @Override
+    public long solvePart2(final Stream<String> steps) {
+        return part2(steps);
+    }
+
     /**
      * Run the HASH algorithm on each step in the initialization sequence. What
      * is the sum of the results?
@@ -88,11 +123,17 @@ public class Day15 {
      * @return The sum of the results of running the HASH algorithm on each step
      *         in the line.
      */
-    private static int part1(final String line) {
+    static int part1(final String line) {
+        return part1(Stream.of(line.split(",")));
+    }
 
-        return Stream.of(line.split(","))
-                     .mapToInt(Day15::hash)
-                     .sum();
+    /**
+     * As {@link #part1(String)}, consuming the steps lazily.
+     */
+    static int part1(final Stream<String> steps) {
+
+        return steps.mapToInt(Day15::hash)
+                    .sum();
     }
 
     /**
@@ -103,28 +144,34 @@ public class Day15 {
      *            The steps in the initialization sequence.
      * @return The focusing power of the resulting lens configuration.
      */
-    private static int part2(final List<String> steps) {
+    static int part2(final List<String> steps) {
+        return part2(steps.stream());
+    }
+
+    /**
+     * As {@link #part2(List)}, consuming the steps lazily.
+     */
+    static int part2(final Stream<String> steps) {
 
         Map<Integer, List<Lens>> boxMap = new HashMap<>();
 
         // Perform the steps
-        steps.stream()
-             .forEach(step -> {
-                 String label = step.split("[-=]")[0];
-                 char operation = step.indexOf('=') > 0 ? '=' : '-';
-                 int value = step.charAt(step.length() - 1) - '0';
-                 int box = hash(label);
-                 List<Lens> boxContents = boxMap.computeIfAbsent(box, ArrayList::new);
-                 if (operation == '-') {
-                     boxContents.removeIf(l -> label.equals(l.label));
-                 } else {
-                     Optional.ofNullable(IterableUtils.find(boxContents, l -> label.equals(l.label)))
-                             .ifPresentOrElse(l -> l.focalLength = value,
-                                              () -> boxContents.add(new Lens(label, value)));
-                 }
-
-                 log.debug("After \"{}\":\n{}", step, boxMap);
-             });
+        steps.forEach(step -> {
+            String label = step.split("[-=]")[0];
+            char operation = step.indexOf('=') > 0 ? '=' : '-';
+            int value = step.charAt(step.length() - 1) - '0';
+            int box = hash(label);
+            List<Lens> boxContents = boxMap.computeIfAbsent(box, ArrayList::new);
+            if (operation == '-') {
+                boxContents.removeIf(l -> label.equals(l.label));
+            } else {
+                Optional.ofNullable(IterableUtils.find(boxContents, l -> label.equals(l.label)))
+                        .ifPresentOrElse(l -> l.focalLength = value,
+                                         () -> boxContents.add(new Lens(label, value)));
+            }
+
+            log.debug("After \"{}\":\n{}", step, boxMap);
+        });
 
         // Add up focusing power
 
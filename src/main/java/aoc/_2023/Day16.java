@@ -1,19 +1,21 @@
 package aoc._2023;
 
-import java.util.AbstractMap.SimpleEntry;
-import java.util.HashSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
-import org.apache.commons.collections4.SetUtils;
 import org.slf4j.LoggerFactory;
 
 import aoc.Coordinate;
 import aoc.FileUtils;
+import aoc.Solver;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
@@ -24,7 +26,7 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day16 {
+public class Day16 implements Solver {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day16.class);
 
@@ -32,13 +34,427 @@ public class Day16 {
 
     private static final String TEST_INPUT_TXT = "testInput/Day16.txt";
 
+    /** The tiles of the grid, in the order of {@link Direction#leaving(char)}'s table. */
+    private static final String TILES = "./\\|-";
+
     private static enum Direction {
-        RIGHT('>'), LEFT('<'), UP('^'), DOWN('v');
+        RIGHT('>', 0, 1), LEFT('<', 0, -1), UP('^', -1, 0), DOWN('v', 1, 0);
 
         char symbol;
+        final int rowOffset;
+        final int columnOffset;
+
+        /** The directions the beam leaves each of the {@link Day16#TILES} in, entering it in this direction. */
+        private Direction[][] leaving;
 
-        Direction(char symbol) {
+        static {
+            RIGHT.leaving = new Direction[][] { { RIGHT }, { UP }, { DOWN }, { UP, DOWN }, { RIGHT } };
+            LEFT.leaving = new Direction[][] { { LEFT }, { DOWN }, { UP }, { UP, DOWN }, { LEFT } };
+            UP.leaving = new Direction[][] { { UP }, { RIGHT }, { LEFT }, { UP }, { LEFT, RIGHT } };
+            DOWN.leaving = new Direction[][] { { DOWN }, { LEFT }, { RIGHT }, { DOWN }, { LEFT, RIGHT } };
+        }
+
+        Direction(char symbol, int rowOffset, int columnOffset) {
             this.symbol = symbol;
+            this.rowOffset = rowOffset;
+            this.columnOffset = columnOffset;
+        }
+
+        /**
+         * @return The directions the beam leaves the tile in, entering it in this
+         *     direction. Not to be modified.
+         */
+        Direction[] leaving(char tile) {
+            return leaving[TILES.indexOf(tile)];
+        }
+    }
+
+    /** {@link Direction#values()}, without copying them each time. */
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /**
+     * Follows beams through the grid without recursion, so a long chain of
+     * splitters can't overflow the stack, and without allocating anything per
+     * tile.
+     * <p>
+     * Each state of a beam, a tile and the direction it's heading in, is the
+     * index tile * 4 + direction. The visited states, and the energized tiles,
+     * are marked with the number of the trace that visited them, so they don't
+     * need clearing between traces.
+     */
+    private static final class BeamTracer {
+        final int rows;
+        final int columns;
+
+        private final char[] tiles;
+
+        /** The trace each state was last visited in. */
+        private final int[] visited;
+        /** The trace each tile was last energized in. */
+        private final int[] energized;
+        private int trace;
+
+        /** The states of the beams split off and not yet followed. */
+        private int[] pending = new int[64];
+
+        BeamTracer(final List<String> lines) {
+            rows = lines.size();
+            columns = lines.get(0).length();
+
+            tiles = new char[rows * columns];
+            for (int row = 0; row < rows; row++)
+                lines.get(row).getChars(0, columns, tiles, row * columns);
+
+            visited = new int[tiles.length * 4];
+            energized = new int[tiles.length];
+        }
+
+        /**
+         * Follow a beam and every beam split off from it, until each one leaves
+         * the grid or gets to a tile it's already been through in the same
+         * direction.
+         *
+         * @param row
+         *     The row the beam starts on, from 1.
+         * @param column
+         *     The column the beam starts on, from 1.
+         * @param direction
+         *     The direction the beam enters the start tile in.
+         * @return The number of tiles energized.
+         */
+        int trace(int row, int column, Direction direction) {
+            if (++trace == 0) {
+                // After 2^32 traces, the marks have to be cleared after all
+                Arrays.fill(visited, 0);
+                Arrays.fill(energized, 0);
+                trace = 1;
+            }
+
+            int energizedCount = 0;
+            int pendingCount = 0;
+            pending[pendingCount++] = ((row - 1) * columns + column - 1) * 4 + direction.ordinal();
+
+            while (pendingCount > 0) {
+                int state = pending[--pendingCount];
+                int currentRow = state / 4 / columns;
+                int currentColumn = state / 4 % columns;
+                Direction currentDirection = DIRECTIONS[state % 4];
+
+                // Follow the beam in a straight line, leaving any split off beams for later
+                while (currentRow >= 0 && currentRow < rows && currentColumn >= 0 && currentColumn < columns) {
+                    int tile = currentRow * columns + currentColumn;
+                    state = tile * 4 + currentDirection.ordinal();
+                    if (visited[state] == trace)
+                        break;
+                    visited[state] = trace;
+                    if (energized[tile] != trace) {
+                        energized[tile] = trace;
+                        energizedCount++;
+                    }
+
+                    Direction[] leaving = currentDirection.leaving(tiles[tile]);
+                    for (int i = 1; i < leaving.length; i++) {
+                        int splitRow = currentRow + leaving[i].rowOffset;
+                        int splitColumn = currentColumn + leaving[i].columnOffset;
+                        if (splitRow >= 0 && splitRow < rows && splitColumn >= 0 && splitColumn < columns) {
+                            if (pendingCount == pending.length)
+                                pending = Arrays.copyOf(pending, pendingCount * 2);
+                            pending[pendingCount++] = (splitRow * columns + splitColumn) * 4 + leaving[i].ordinal();
+                        }
+                    }
+
+                    currentDirection = leaving[0];
+                    currentRow += currentDirection.rowOffset;
+                    currentColumn += currentDirection.columnOffset;
+                }
+            }
+
+            return energizedCount;
+        }
+
+        /**
+         * @return Whether the last trace went through the tile in the direction.
+         */
+        boolean isVisited(int row, int column, Direction direction) {
+            return visited[((row - 1) * columns + column - 1) * 4 + direction.ordinal()] == trace;
+        }
+
+        /**
+         * @return The tiles energized by the last trace, as coordinates from 1.
+         */
+        Set<Coordinate> energizedTiles() {
+            return IntStream.range(0, energized.length)
+                            .filter(tile -> energized[tile] == trace)
+                            .mapToObj(tile -> Coordinate.of(tile / columns + 1, tile % columns + 1))
+                            .collect(Collectors.toSet());
+        }
+    }
+
+    /**
+     * The mirrors and splitters, compiled into a graph of the straight beam
+     * segments between them, so the tiles energized by a beam can be found
+     * without tracing it.
+     * <p>
+     * Each node is a segment leaving a mirror or splitter in one direction,
+     * covering the tiles after it up to and including the next mirror or
+     * splitter (or the edge of the grid). Its successors are the segments
+     * leaving that next mirror or splitter. The strongly connected components
+     * of the graph are condensed, and the tiles energized from each component
+     * are cached as a bitset, with one bit per tile, row by row. As Tarjan's
+     * algorithm finds the components in reverse topological order, each
+     * component's tiles are its own segments' tiles plus the already cached
+     * tiles of the components it leads to.
+     */
+    private static final class BeamGraph {
+        final int rows;
+        final int columns;
+
+        private final char[] tiles;
+
+        /** The index of the mirror or splitter at each tile, or -1. */
+        private final int[] mirrorIndex;
+        /** The tile each mirror or splitter is at. */
+        private final int[] mirrorTiles;
+
+        /** The mirror or splitter ending each segment, as an index into {@link #mirrorTiles}, or -1. */
+        private final int[] segmentEnds;
+        /** The component of each segment. */
+        private final int[] segmentComponents;
+
+        /** The tiles energized from each component. */
+        private final List<BitSet> componentTiles = new ArrayList<>();
+
+        BeamGraph(final List<String> lines) {
+            rows = lines.size();
+            columns = lines.get(0).length();
+
+            tiles = new char[rows * columns];
+            mirrorIndex = new int[rows * columns];
+            int mirrors = 0;
+            for (int row = 0; row < rows; row++) {
+                for (int column = 0; column < columns; column++) {
+                    int tile = row * columns + column;
+                    tiles[tile] = lines.get(row).charAt(column);
+                    mirrorIndex[tile] = tiles[tile] == '.' ? -1 : mirrors++;
+                }
+            }
+            mirrorTiles = new int[mirrors];
+            for (int tile = 0; tile < tiles.length; tile++)
+                if (mirrorIndex[tile] >= 0)
+                    mirrorTiles[mirrorIndex[tile]] = tile;
+
+            // Segment mirror * 4 + direction leaves the mirror in that direction
+            segmentEnds = new int[mirrors * 4];
+            for (int segment = 0; segment < segmentEnds.length; segment++) {
+                int tile = mirrorTiles[segment / 4];
+                segmentEnds[segment] = findEnd(tile / columns, tile % columns, DIRECTIONS[segment % 4]);
+            }
+
+            segmentComponents = new int[segmentEnds.length];
+            findComponents();
+        }
+
+        /**
+         * @return The mirror or splitter the beam reaches from the tile after the
+         *     given one, as an index into {@link #mirrorTiles}, or -1 if it
+         *     leaves the grid first.
+         */
+        private int findEnd(int row, int column, Direction direction) {
+            for (row += direction.rowOffset, column += direction.columnOffset;
+                 row >= 0 && row < rows && column >= 0 && column < columns;
+                 row += direction.rowOffset, column += direction.columnOffset) {
+                int mirror = mirrorIndex[row * columns + column];
+                if (mirror >= 0)
+                    return mirror;
+            }
+            return -1;
+        }
+
+        /**
+         * @return The segments leaving the mirror or splitter at the end of the
+         *     segment.
+         */
+        private int[] successors(int segment) {
+            int end = segmentEnds[segment];
+            if (end < 0)
+                return new int[0];
+            Direction direction = DIRECTIONS[segment % 4];
+            return Arrays.stream(direction.leaving(tiles[mirrorTiles[end]]))
+                         .mapToInt(leaving -> end * 4 + leaving.ordinal())
+                         .toArray();
+        }
+
+        /**
+         * Tarjan's algorithm, with an explicit stack rather than recursion, as a
+         * chain of segments can be thousands long.
+         */
+        private void findComponents() {
+            int segments = segmentEnds.length;
+            int[][] successors = new int[segments][];
+            for (int segment = 0; segment < segments; segment++)
+                successors[segment] = successors(segment);
+
+            int[] order = new int[segments];
+            Arrays.fill(order, -1);
+            int[] lowLink = new int[segments];
+            boolean[] onStack = new boolean[segments];
+            Deque<Integer> componentStack = new ArrayDeque<>();
+            // Each frame of the depth first search is the segment and its next successor to visit
+            Deque<int[]> searchStack = new ArrayDeque<>();
+            int visited = 0;
+
+            for (int root = 0; root < segments; root++) {
+                if (order[root] >= 0)
+                    continue;
+                searchStack.push(new int[] { root, 0 });
+                order[root] = lowLink[root] = visited++;
+                componentStack.push(root);
+                onStack[root] = true;
+
+                while (!searchStack.isEmpty()) {
+                    int[] frame = searchStack.peek();
+                    int segment = frame[0];
+                    if (frame[1] < successors[segment].length) {
+                        int successor = successors[segment][frame[1]++];
+                        if (order[successor] < 0) {
+                            searchStack.push(new int[] { successor, 0 });
+                            order[successor] = lowLink[successor] = visited++;
+                            componentStack.push(successor);
+                            onStack[successor] = true;
+                        } else if (onStack[successor]) {
+                            lowLink[segment] = Math.min(lowLink[segment], order[successor]);
+                        }
+                        continue;
+                    }
+
+                    searchStack.pop();
+                    if (!searchStack.isEmpty()) {
+                        int parent = searchStack.peek()[0];
+                        lowLink[parent] = Math.min(lowLink[parent], lowLink[segment]);
+                    }
+                    if (lowLink[segment] == order[segment])
+                        addComponent(segment, componentStack, onStack, successors);
+                }
+            }
+        }
+
+        /**
+         * Pop the component rooted at the segment off the stack, and cache the
+         * tiles energized from it.
+         */
+        private void addComponent(int root, Deque<Integer> componentStack, boolean[] onStack, int[][] successors) {
+            int component = componentTiles.size();
+            List<Integer> members = new ArrayList<>();
+            int member;
+            do {
+                member = componentStack.pop();
+                onStack[member] = false;
+                segmentComponents[member] = component;
+                members.add(member);
+            } while (member != root);
+
+            BitSet energized = new BitSet(tiles.length);
+            for (int segment : members) {
+                int tile = mirrorTiles[segment / 4];
+                energizeSegment(energized, tile / columns, tile % columns, DIRECTIONS[segment % 4]);
+                for (int successor : successors[segment]) {
+                    int successorComponent = segmentComponents[successor];
+                    // The component's own segments are covered above
+                    if (successorComponent != component)
+                        energized.or(componentTiles.get(successorComponent));
+                }
+            }
+            componentTiles.add(energized);
+        }
+
+        /**
+         * Energize the tiles after the given one, up to and including the next
+         * mirror or splitter.
+         *
+         * @return The index of that mirror or splitter, or -1 if the beam leaves
+         *     the grid first.
+         */
+        private int energizeSegment(BitSet energized, int row, int column, Direction direction) {
+            for (row += direction.rowOffset, column += direction.columnOffset;
+                 row >= 0 && row < rows && column >= 0 && column < columns;
+                 row += direction.rowOffset, column += direction.columnOffset) {
+                int tile = row * columns + column;
+                energized.set(tile);
+                if (mirrorIndex[tile] >= 0)
+                    return mirrorIndex[tile];
+            }
+            return -1;
+        }
+
+        /**
+         * @return The number of beams entering the grid from its edges, one per
+         *     edge tile on each side.
+         */
+        int edgeStartCount() {
+            return 2 * (rows + columns);
+        }
+
+        /**
+         * @param edgeStart
+         *     Which beam entering from the edges: first those going right along
+         *     each row, then left, then down each column, then up.
+         * @param energized
+         *     Set to the tiles energized by the beam, replacing its contents.
+         * @return The number of tiles energized by the beam.
+         */
+        int energizedTiles(int edgeStart, BitSet energized) {
+            if (edgeStart < rows)
+                return energizedTiles(edgeStart + 1, 1, Direction.RIGHT, energized);
+            if (edgeStart < 2 * rows)
+                return energizedTiles(edgeStart - rows + 1, columns, Direction.LEFT, energized);
+            if (edgeStart < 2 * rows + columns)
+                return energizedTiles(1, edgeStart - 2 * rows + 1, Direction.DOWN, energized);
+            return energizedTiles(rows, edgeStart - 2 * rows - columns + 1, Direction.UP, energized);
+        }
+
+        /**
+         * @param row
+         *     The row the beam starts on, from 1.
+         * @param column
+         *     The column the beam starts on, from 1.
+         * @param direction
+         *     The direction the beam enters the start tile in.
+         * @param energized
+         *     Set to the tiles energized by the beam, replacing its contents.
+         * @return The number of tiles energized by the beam.
+         */
+        int energizedTiles(int row, int column, Direction direction, BitSet energized) {
+            energized.clear();
+            // Start from the tile before, so the start tile itself is energized too
+            int mirror = energizeSegment(energized, row - 1 - direction.rowOffset, column - 1 - direction.columnOffset,
+                                         direction);
+            if (mirror >= 0)
+                for (Direction leaving : direction.leaving(tiles[mirrorTiles[mirror]]))
+                    energized.or(componentTiles.get(segmentComponents[mirror * 4 + leaving.ordinal()]));
+            return energized.cardinality();
+        }
+
+        /**
+         * @return The number of beam segments, i.e. nodes in the graph.
+         */
+        int segmentCount() {
+            return segmentEnds.length;
+        }
+
+        /**
+         * @return The number of strongly connected components of the graph.
+         */
+        int componentCount() {
+            return componentTiles.size();
+        }
+
+        /**
+         * @return The energized tiles, as coordinates from 1.
+         */
+        Set<Coordinate> toCoordinates(BitSet energized) {
+            return energized.stream()
+                            .mapToObj(tile -> Coordinate.of(tile / columns + 1, tile % columns + 1))
+                            .collect(Collectors.toSet());
         }
     }
 
@@ -71,6 +487,21 @@ public class Day16 {
         log.info("There are {} energized tiles. (should be higher than 7496)", part2(lines));
     }
 
+    @Override
+    public int getDay() {
+        return 16;
+    }
+
+    @Override
+    public long solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+
+    @Override
+    public long solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+
     /**
      * With the beam starting in the top-left heading right, how many tiles end up
      * being energized?
@@ -78,7 +509,7 @@ public class Day16 {
      * @param lines The lines of the grid containing mirrors and splitters.
      * @return The number of energized tiles.
      */
-    private static int part1(final List<String> lines) {
+    static int part1(final List<String> lines) {
 
         int rows = lines.size();
         int columns = lines.get(0).length();
@@ -91,49 +522,49 @@ public class Day16 {
            .addArgument(() -> Coordinate.printMap(rows, columns, mirrorMap))
            .log();
 
-        // Add a frame to stop the light
-        IntStream.rangeClosed(1, columns).forEach(c -> {
-            mirrorMap.put(new Coordinate(0, c), '#');
-            mirrorMap.put(new Coordinate(rows + 1, c), '#');
-        });
-        IntStream.rangeClosed(1, rows).forEach(r -> {
-            mirrorMap.put(new Coordinate(r, 0), '#');
-            mirrorMap.put(new Coordinate(r, columns + 1), '#');
-        });
-
-        Direction currentDirection = Direction.RIGHT;
-        Coordinate currentPosition = new Coordinate(1, 1);
-
-        Set<Entry<Coordinate, Direction>> energizedTiles = new HashSet<>();
+        BeamTracer beamTracer = new BeamTracer(lines);
 
         // Start following the path of the light
-        followTheLight(currentPosition, currentDirection, mirrorMap, energizedTiles);
+        int energizedTileCount = beamTracer.trace(1, 1, Direction.RIGHT);
 
-        energizedTiles.stream().forEach(e -> {
-            char mappedChar = mirrorMap.getOrDefault(e.getKey(), '.');
-            if (mappedChar == '.')
-                mirrorMap.put(e.getKey(), e.getValue().symbol);
-            else if ("<>^v".indexOf(mappedChar) >= 0)
-                mirrorMap.put(e.getKey(), '2');
-            else if ("   234".indexOf(mappedChar) >= 0)
-                mirrorMap.put(e.getKey(), (char) ("   234".indexOf(mappedChar) + '0'));
-
-        });
+        for (int row = 1; row <= rows; row++) {
+            for (int column = 1; column <= columns; column++) {
+                Coordinate tile = Coordinate.of(row, column);
+                for (Direction direction : DIRECTIONS) {
+                    if (!beamTracer.isVisited(row, column, direction))
+                        continue;
+                    char mappedChar = mirrorMap.getOrDefault(tile, '.');
+                    if (mappedChar == '.')
+                        mirrorMap.put(tile, direction.symbol);
+                    else if ("<>^v".indexOf(mappedChar) >= 0)
+                        mirrorMap.put(tile, '2');
+                    else if ("   234".indexOf(mappedChar) >= 0)
+                        mirrorMap.put(tile, (char) ("   234".indexOf(mappedChar) + '0'));
+                }
+            }
+        }
 
         log.atDebug()
            .setMessage("Path:\n{}")
            .addArgument(() -> Coordinate.printMap(rows, columns, mirrorMap))
            .log();
 
-        // Count the energized tiles
-        Set<Coordinate> energizedTileSet = energizedTiles.stream().map(Entry::getKey).collect(Collectors.toSet());
-
         log.atDebug()
            .setMessage("Energized tiles:\n{}")
-           .addArgument(() -> Coordinate.printMap(rows, columns, energizedTileSet))
+           .addArgument(() -> Coordinate.printMap(rows, columns, beamTracer.energizedTiles()))
            .log();
 
-        return energizedTileSet.size();
+        return energizedTileCount;
+    }
+
+    /**
+     * Build the graph of the beam segments between the mirrors and splitters.
+     * 
+     * @param lines The lines of the grid containing mirrors and splitters.
+     * @return The beam graph.
+     */
+    static BeamGraph buildBeamGraph(final List<String> lines) {
+        return new BeamGraph(lines);
     }
 
     /**
@@ -143,249 +574,41 @@ public class Day16 {
      * @param lines The lines of the grid containing mirrors and splitters.
      * @return The maximum number of energized tiles.
      */
-    private static int part2(final List<String> lines) {
+    static int part2(final List<String> lines) {
 
         int rows = lines.size();
         int columns = lines.get(0).length();
 
-        // Map out the mirrors
-        Map<Coordinate, Character> mirrorMap = Coordinate.mapCoordinates(lines);
-
-        log.atDebug()
-           .setMessage("Mirrors:\n{}")
-           .addArgument(() -> Coordinate.printMap(rows, columns, mirrorMap))
-           .log();
-
-        // Add a frame to stop the light
-        IntStream.rangeClosed(1, columns).forEach(c -> {
-            mirrorMap.put(new Coordinate(0, c), '#');
-            mirrorMap.put(new Coordinate(rows + 1, c), '#');
-        });
-        IntStream.rangeClosed(1, rows).forEach(r -> {
-            mirrorMap.put(new Coordinate(r, 0), '#');
-            mirrorMap.put(new Coordinate(r, columns + 1), '#');
-        });
-
-        // Try all the start positions and directions
-
-        Set<Entry<Coordinate, Direction>> energizedTiles = SetUtils.emptySet();
-        Set<Coordinate> energizedTileSet = SetUtils.emptySet();
-        int energizedTileCount = 0;
-
-        Set<Entry<Coordinate, Direction>> maxEnergizedTiles = new HashSet<>();
-
-        // Left side, going right
-        for (int row = 1; row <= rows; row++) {
-            Direction currentDirection = Direction.RIGHT;
-            Coordinate startPosition = new Coordinate(row, 1);
-            energizedTiles = new HashSet<>();
-
-            // Start following the path of the light
-            followTheLight(startPosition, currentDirection, mirrorMap, energizedTiles);
-
-            // Count the energized tiles
-            energizedTileSet = energizedTiles.stream().map(Entry::getKey).collect(Collectors.toSet());
-
-            if (energizedTileCount < energizedTileSet.size()) {
-                energizedTileCount = energizedTileSet.size();
-                maxEnergizedTiles = energizedTiles;
-            }
-        }
-        // Right side, going left
-        for (int row = 1; row <= rows; row++) {
-            Direction currentDirection = Direction.LEFT;
-            Coordinate startPosition = new Coordinate(row, columns);
-            energizedTiles = new HashSet<>();
-
-            // Start following the path of the light
-            followTheLight(startPosition, currentDirection, mirrorMap, energizedTiles);
-
-            // Count the energized tiles
-            energizedTileSet = energizedTiles.stream().map(Entry::getKey).collect(Collectors.toSet());
-
-            if (energizedTileCount < energizedTileSet.size()) {
-                energizedTileCount = energizedTileSet.size();
-                maxEnergizedTiles = energizedTiles;
-            }
-        }
-        // Top side, going down
-        for (int column = 1; column <= columns; column++) {
-            Direction currentDirection = Direction.DOWN;
-            Coordinate startPosition = new Coordinate(1, column);
-            energizedTiles = new HashSet<>();
-
-            // Start following the path of the light
-            followTheLight(startPosition, currentDirection, mirrorMap, energizedTiles);
-
-            // Count the energized tiles
-            energizedTileSet = energizedTiles.stream().map(Entry::getKey).collect(Collectors.toSet());
-
-            if (energizedTileCount < energizedTileSet.size()) {
-                energizedTileCount = energizedTileSet.size();
-                maxEnergizedTiles = energizedTiles;
-            }
-        }
-        // Bottom side, going up
-        for (int column = 1; column <= columns; column++) {
-            Direction currentDirection = Direction.UP;
-            Coordinate startPosition = new Coordinate(rows, column);
-            energizedTiles = new HashSet<>();
-
-            // Start following the path of the light
-            followTheLight(startPosition, currentDirection, mirrorMap, energizedTiles);
-
-            // Count the energized tiles
-            energizedTileSet = energizedTiles.stream().map(Entry::getKey).collect(Collectors.toSet());
+        BeamGraph beamGraph = buildBeamGraph(lines);
 
-            if (energizedTileCount < energizedTileSet.size()) {
-                energizedTileCount = energizedTileSet.size();
-                maxEnergizedTiles = energizedTiles;
-            }
-        }
+        log.debug("{} beam segments in {} strongly connected components", beamGraph.segmentCount(),
+                  beamGraph.componentCount());
 
-        // Display the path
-        maxEnergizedTiles.stream().forEach(e -> {
-            char mappedChar = mirrorMap.getOrDefault(e.getKey(), '.');
-            if (mappedChar == '.')
-                mirrorMap.put(e.getKey(), e.getValue().symbol);
-            else if ("<>^v".indexOf(mappedChar) >= 0)
-                mirrorMap.put(e.getKey(), '2');
-            else if ("   234".indexOf(mappedChar) >= 0)
-                mirrorMap.put(e.getKey(), (char) ("   234".indexOf(mappedChar) + '0'));
+        // Try all the start positions and directions, in parallel, each thread reusing its own bitset
+        ThreadLocal<BitSet> energizedTiles = ThreadLocal.withInitial(() -> new BitSet(rows * columns));
 
-        });
-
-        log.atDebug()
-           .setMessage("Path:\n{}")
-           .addArgument(() -> Coordinate.printMap(rows, columns, mirrorMap))
-           .log();
+        // Find the largest count, and the start with it, as count << 32 | start
+        long maxEnergized = IntStream.range(0, beamGraph.edgeStartCount())
+                                     .parallel()
+                                     .mapToLong(start -> {
+                                         long count = beamGraph.energizedTiles(start, energizedTiles.get());
+                                         return count << 32 | start;
+                                     })
+                                     .max()
+                                     .getAsLong();
+        int energizedTileCount = (int) (maxEnergized >>> 32);
 
-        Set<Coordinate> maxEnergizedTileSet = maxEnergizedTiles.stream().map(Entry::getKey).collect(Collectors.toSet());
+        // Only retrace the best start's tiles if they're going to be logged
         log.atDebug()
            .setMessage("Energized tiles:\n{}")
-           .addArgument(() -> Coordinate.printMap(rows, columns, maxEnergizedTileSet))
+           .addArgument(() -> {
+               BitSet maxEnergizedTiles = new BitSet(rows * columns);
+               beamGraph.energizedTiles((int) maxEnergized, maxEnergizedTiles);
+               return Coordinate.printMap(rows, columns, beamGraph.toCoordinates(maxEnergizedTiles));
+           })
            .log();
 
         return energizedTileCount;
     }
 
-    /**
-     * Starting from the given position, follow the path of the light, energizing
-     * tiles along the way.
-     * 
-     * @param currentPosition
-     * @param currentDirection
-     * @param mirrorMap
-     * @param energizedTiles
-     */
-    private static void followTheLight(Coordinate currentPosition, Direction currentDirection,
-                                       Map<Coordinate, Character> mirrorMap,
-                                       Set<Entry<Coordinate, Direction>> energizedTiles) {
-
-        boolean done = false;
-        char chatAtPosition;
-        // Energize the tile if we're not done, on the frame, or have been here already
-        // from this direction
-        while (!done) {
-
-            chatAtPosition = mirrorMap.getOrDefault(currentPosition, '.');
-            if (chatAtPosition == '#') {
-                done = true;
-                continue;
-            }
-
-            if (!energizedTiles.add(new SimpleEntry<Coordinate, Direction>(currentPosition, currentDirection))) {
-                done = true;
-                continue;
-            }
-
-            // Encounter?
-            switch (chatAtPosition) {
-                case '\\':
-                    switch (currentDirection) {
-                        case RIGHT:
-                            currentDirection = Direction.DOWN;
-                            break;
-                        case LEFT:
-                            currentDirection = Direction.UP;
-                            break;
-                        case UP:
-                            currentDirection = Direction.LEFT;
-                            break;
-                        case DOWN:
-                            currentDirection = Direction.RIGHT;
-                            break;
-                    }
-                    break;
-                case '/':
-                    switch (currentDirection) {
-                        case RIGHT:
-                            currentDirection = Direction.UP;
-                            break;
-                        case LEFT:
-                            currentDirection = Direction.DOWN;
-                            break;
-                        case UP:
-                            currentDirection = Direction.RIGHT;
-                            break;
-                        case DOWN:
-                            currentDirection = Direction.LEFT;
-                            break;
-                    }
-                    break;
-                case '|':
-                    switch (currentDirection) {
-                        case RIGHT:
-                        case LEFT:
-                            followTheLight(new Coordinate(currentPosition.getRow() - 1, currentPosition.getColumn()),
-                                           Direction.UP, mirrorMap, energizedTiles);
-                            followTheLight(new Coordinate(currentPosition.getRow() + 1, currentPosition.getColumn()),
-                                           Direction.DOWN, mirrorMap, energizedTiles);
-                            done = true;
-                            continue;
-                        case UP:
-                        case DOWN:
-                            // No change
-                            break;
-                    }
-                    break;
-                case '-':
-                    switch (currentDirection) {
-                        case UP:
-                        case DOWN:
-                            followTheLight(new Coordinate(currentPosition.getRow(), currentPosition.getColumn() - 1),
-                                           Direction.LEFT, mirrorMap, energizedTiles);
-                            followTheLight(new Coordinate(currentPosition.getRow(), currentPosition.getColumn() + 1),
-                                           Direction.RIGHT, mirrorMap, energizedTiles);
-                            done = true;
-                            continue;
-                        case RIGHT:
-                        case LEFT:
-                            // No change
-                            break;
-                    }
-                    break;
-                case '.':
-                    // No change
-                    break;
-            }
-
-            // Determine the next position
-            switch (currentDirection) {
-                case RIGHT:
-                    currentPosition = new Coordinate(currentPosition.getRow(), currentPosition.getColumn() + 1);
-                    break;
-                case LEFT:
-                    currentPosition = new Coordinate(currentPosition.getRow(), currentPosition.getColumn() - 1);
-                    break;
-                case UP:
-                    currentPosition = new Coordinate(currentPosition.getRow() - 1, currentPosition.getColumn());
-                    break;
-                case DOWN:
-                    currentPosition = new Coordinate(currentPosition.getRow() + 1, currentPosition.getColumn());
-                    break;
-            }
-        }
-    }
-
-}
\ No newline at end of file
+}
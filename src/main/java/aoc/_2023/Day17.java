@@ -1,22 +1,18 @@
 package aoc._2023;
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Objects;
-import java.util.Queue;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
 
 import org.slf4j.LoggerFactory;
 
-import aoc.Coordinate;
+import aoc.Direction;
 import aoc.FileUtils;
+import aoc.IntGrid;
+import aoc.Solver;
+import aoc.search.Heuristics;
+import aoc.search.ShortestPath;
+import aoc.search.StateSpace;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
@@ -27,7 +23,7 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day17 {
+public class Day17 implements Solver {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day17.class);
 
@@ -35,70 +31,82 @@ public class Day17 {
 
     private static final String TEST_INPUT_TXT = "testInput/Day17.txt";
 
-    private static enum Direction {
-        UP('^'), RIGHT('>'), DOWN('v'), LEFT('<');
+    /** The most heat lost entering a single block. */
+    private static final int MAX_BLOCK_HEAT_LOSS = 9;
 
-        char symbol;
+    private static final Direction[] DIRECTIONS = Direction.values();
 
-        Direction(char symbol) {
-            this.symbol = symbol;
+    /**
+     * The states of the crucible: a block, the direction the crucible entered it
+     * in, and the number of blocks it has moved in that direction (its run),
+     * encoded as (block * 4 + direction) * (maxRun + 1) + run.
+     */
+    private static final class CrucibleStates implements StateSpace {
+        private final IntGrid heatMap;
+        private final int minRun;
+        private final int maxRun;
+        private final int runs;
+
+        CrucibleStates(IntGrid heatMap, int minRun, int maxRun) {
+            this.heatMap = heatMap;
+            this.minRun = minRun;
+            this.maxRun = maxRun;
+            this.runs = maxRun + 1;
         }
 
-        public static Direction oppositeOf(Direction direction) {
-            switch (direction) {
-                case UP:
-                    return DOWN;
-                case RIGHT:
-                    return LEFT;
-                case DOWN:
-                    return UP;
-                case LEFT:
-                    return RIGHT;
-                default:
-                    throw new IllegalArgumentException();
-            }
+        /**
+         * @return The state at the top-left block, about to move in the given
+         *     direction.
+         */
+        int start(Direction direction) {
+            return direction.ordinal() * runs;
         }
-    }
 
-    private static class Node {
-        Coordinate position;
-        // Cost to enter this node
-        int cost;
+        int blockOf(int state) {
+            return state / runs / 4;
+        }
 
-        // Costs to leave
-        Map<Direction, Integer> costMap = new HashMap<>();
+        int runOf(int state) {
+            return state % runs;
+        }
 
-        public Node(Coordinate position, int cost) {
-            this.position = position;
-            this.cost = cost;
+        @Override
+        public int size() {
+            return heatMap.size() * 4 * runs;
         }
 
-        /**
-         * Depending on the direction the path is coming from, and the current length on
-         * the path, find the least cost to leave.
-         * 
-         * @param fromDirection The direction of the path entering this node.
-         * @param pathLength The current length of the path.
-         * @return The least cost direction to traverse this node and the cost of that
-         *     path.
-         */
-        public Entry<Direction, Integer> findLeastCostToLeave(Direction fromDirection, int pathLength) {
-
-            // Find the least cost to leave given the conditions:
-            // - Can't go back the way you came
-            // - Can't go a third step in the same direction
-            return costMap.entrySet().stream()
-                          .filter(e -> Direction.oppositeOf(fromDirection) != e.getKey())
-                          .filter(e -> e.getKey() == fromDirection && pathLength <= 3)
-                          .sorted(Comparator.comparing(Entry::getValue))
-                          .findFirst()
-                          .get();
+        @Override
+        public int maxNeighbours() {
+            return 3;
+        }
+
+        @Override
+        public int neighbours(int state, int[] neighbours) {
+            int run = runOf(state);
+            int direction = state / runs % 4;
+            int block = blockOf(state);
+
+            // Go straight on, turn right, or turn left; never back
+            int count = 0;
+            for (int turn = 0; turn < 4; turn++) {
+                if (turn == 2 || (turn == 0 ? run >= maxRun : run < minRun))
+                    continue;
+                int nextDirection = (direction + turn) % 4;
+                int nextBlock = heatMap.neighbour(block, DIRECTIONS[nextDirection]);
+                if (nextBlock >= 0)
+                    neighbours[count++] = (nextBlock * 4 + nextDirection) * runs + (turn == 0 ? run + 1 : 1);
+            }
+            return count;
+        }
 
+        @Override
+        public int cost(int from, int to) {
+            return heatMap.get(blockOf(to));
         }
 
         @Override
-        public String toString() {
-            return String.format("%s %s", position, cost);
+        public int maxCost() {
+            return MAX_BLOCK_HEAT_LOSS;
         }
     }
 
@@ -123,11 +131,26 @@ public class Day17 {
         log.info("Part 2:");
         log.setLevel(Level.DEBUG);
 
-        log.info("{}", part2(testLines));
+        log.info("The least heat loss it can incur is: {}. (should be 94)", part2(testLines));
 
         log.setLevel(Level.INFO);
 
-        log.info("{}", part2(lines));
+        log.info("The least heat loss it can incur is: {}.", part2(lines));
+    }
+
+    @Override
+    public int getDay() {
+        return 17;
+    }
+
+    @Override
+    public long solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+
+    @Override
+    public long solvePart2(final List<String> lines) {
+        return part2(lines);
     }
 
     /**
@@ -138,94 +161,66 @@ public class Day17 {
      * @param lines The lines describing the heat map.
      * @return The minimum heat loss when traversing the city.
      */
-    private static int part1(final List<String> lines) {
-
-        int rows = lines.size();
-        int columns = lines.get(0).length();
-
-        // Map the heat loss
-        Map<Coordinate, Node> heatMap = Coordinate.mapDigits(lines)
-                                                  .entrySet()
-                                                  .stream()
-                                                  .collect(Collectors.toMap(Entry::getKey,
-                                                                            e -> new Node(e.getKey(), e.getValue())));
-
-        log.atDebug()
-           .setMessage("Heat map:\n{}")
-           .addArgument(() -> Coordinate.printMap(rows, columns, heatMap, n -> (char) (n.cost + '0')))
-           .log();
-
-        // Find the least-cost path
-
-        // Start from the end, compute the least costs
-        Queue<Node> nodesToCheck = new ArrayDeque<>();
-        Set<Node> checkedNodes = new HashSet<>();
-        Node endNode = heatMap.get(Coordinate.of(rows, columns));
-        endNode.costMap.putAll(Map.of(Direction.DOWN, 0, Direction.RIGHT, 0));
-
-        nodesToCheck.add(endNode);
-        while (!nodesToCheck.isEmpty()) {
-            Node nodeToCheck = nodesToCheck.poll();
-            log.debug("Checking node: {}", nodeToCheck);
-            checkedNodes.add(nodeToCheck);
-
-            // Do something
-            // For the neighbours, add the cost to traverse this node in each direction,
-            // for each path length
-            Set<Node> neighbours = nodeToCheck.position.findAdjacent()
-                                                       .stream()
-                                                       .filter(c -> c.getColumn() == nodeToCheck.position.getColumn()
-                                                                    || c.getRow() == nodeToCheck.position.getRow())
-                                                       .map(heatMap::get)
-                                                       .filter(Objects::nonNull)
-                                                       .filter(n -> n.costMap.size() != n.position.findAdjacent()
-                                                                                                  .size())
-                                                       .collect(Collectors.toSet());
-            neighbours.forEach(n -> {
-                Direction traversalDirection = null;
-                if (n.position.getRow() == nodeToCheck.position.getRow())
-                    traversalDirection = n.position.getColumn() > nodeToCheck.position.getColumn()
-                            ? Direction.LEFT
-                            : Direction.RIGHT;
-                if (n.position.getColumn() == nodeToCheck.position.getColumn())
-                    traversalDirection = n.position.getRow() < nodeToCheck.position.getRow()
-                            ? Direction.DOWN
-                            : Direction.UP;
-
-                // What does it cost for that node to get to this node?
-                log.debug("{} from {} to {}", traversalDirection, n, nodeToCheck);
-                int cost = nodeToCheck.cost + nodeToCheck.findLeastCostToLeave(traversalDirection, 0).getValue();
-                log.debug("Costs: {}", cost);
-                n.costMap.put(traversalDirection, cost);
-            });
-
-            // Add the neighbours to the queue
-            nodesToCheck.addAll(neighbours);
+    static int part1(final List<String> lines) {
 
-        }
+        IntGrid heatMap = IntGrid.mapDigits(lines);
 
-        log.debug("{} nodes have been checked.", checkedNodes.size());
+        log.debug("Heat map:\n{}", heatMap);
 
-        // Start from the start and traverse the least-cost path.
-        List<Node> path = new ArrayList<>();
-        Node currentNode = heatMap.get(Coordinate.of(1, 1));
-        while (currentNode != endNode) {
-            path.add(currentNode);
+        return leastHeatLoss(heatMap, 1, 3);
+    }
 
-            // Temp short-circuit
-            currentNode = endNode;
-        }
+    /**
+     * Directing the ultra crucible from the lava pool to the machine parts
+     * factory, moving at least four and at most ten consecutive blocks in the same
+     * direction, what is the least heat loss it can incur?
+     * 
+     * @param lines The lines describing the heat map.
+     * @return The minimum heat loss when traversing the city.
+     */
+    static int part2(final List<String> lines) {
 
-        // Add up the path costs?
-        // Shouldn't the least cost path out of the start node be the answer?
-        // currentNode.findLeastCostToLeave(Direction.DOWN, 0).getValue();
+        IntGrid heatMap = IntGrid.mapDigits(lines);
 
-        return -1;
+        return leastHeatLoss(heatMap, 4, 10);
     }
 
-    private static int part2(final List<String> lines) {
+    /**
+     * Find the least heat loss from the top-left block to the bottom-right one,
+     * with A* over the {@link CrucibleStates}. As every block loses at least 1,
+     * the Manhattan distance to the bottom-right block never overestimates the
+     * heat still to be lost.
+     * 
+     * @param heatMap
+     *     The heat lost entering each block.
+     * @param minRun
+     *     The fewest blocks the crucible must move in a direction before it can
+     *     turn or stop.
+     * @param maxRun
+     *     The most blocks the crucible can move in a direction before it has to
+     *     turn.
+     * @return The least heat loss.
+     * @throws IllegalStateException
+     *     If the crucible can't reach the bottom-right block.
+     */
+    static int leastHeatLoss(final IntGrid heatMap, final int minRun, final int maxRun) {
+
+        CrucibleStates states = new CrucibleStates(heatMap, minRun, maxRun);
+        int end = heatMap.size() - 1;
+
+        IntUnaryOperator heuristic = Heuristics.manhattan(heatMap, heatMap.coordinateOf(end), states::blockOf, 1);
+        IntPredicate atFactory = state -> states.blockOf(state) == end && states.runOf(state) >= minRun;
+
+        // The crucible starts off going right or down, without having moved yet
+        ShortestPath.Path path = ShortestPath.in(states)
+                                             .from(states.start(Direction.RIGHT), states.start(Direction.DOWN))
+                                             .withHeuristic(heuristic)
+                                             .to(atFactory)
+                                             .orElseThrow(() -> new IllegalStateException("No path to the factory"));
+
+        log.debug("{} states settled.", path.getStatesSettled());
 
-        return -1;
+        return path.getCost();
     }
 
-}
\ No newline at end of file
+}
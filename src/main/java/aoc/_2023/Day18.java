@@ -1,6 +1,7 @@
 package aoc._2023;
 
 import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -19,6 +20,9 @@ import org.slf4j.LoggerFactory;
 import aoc.Coordinate;
 import aoc.FileUtils;
 import aoc.LongCoordinate;
+import aoc.LongCoordinateMap;
+import aoc.LongCoordinateSet;
+import aoc.Solver;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
@@ -29,7 +33,7 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day18 {
+public class Day18 implements Solver {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day18.class);
 
@@ -95,6 +99,21 @@ public class Day18 {
         log.info("{}", part2(lines));
     }
 
+    @Override
+    public int getDay() {
+        return 18;
+    }
+
+    @Override
+    public long solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+
+    @Override
+    public long solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+
     /**
      * The Elves are concerned the lagoon won't be large enough; if they follow
      * their dig plan, how many cubic meters of lava could it hold?
@@ -103,7 +122,7 @@ public class Day18 {
      *     The lines describing the dig plan
      * @return The volume of the excavated lagoon.
      */
-    private static int part1(final List<String> lines) {
+    static int part1(final List<String> lines) {
 
         log.atDebug()
            .setMessage("Turns:\n{}")
@@ -113,37 +132,46 @@ public class Day18 {
            .log();
 
         // Follow the dig plan
-        Map<Coordinate, Integer> excavation = excavate(lines);
+        LongCoordinateMap excavation = excavate(lines);
 
         // Determine boundaries (with padding)
-        int maxRow = excavation.keySet().stream().mapToInt(Coordinate::getRow).max().getAsInt() + 1;
-        int maxColumn = excavation.keySet().stream().mapToInt(Coordinate::getColumn).max().getAsInt() + 1;
-        int minRow = excavation.keySet().stream().mapToInt(Coordinate::getRow).min().getAsInt() - 1;
-        int minColumn = excavation.keySet().stream().mapToInt(Coordinate::getColumn).min().getAsInt() - 1;
+        int[] bounds = { Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE };
+        excavation.forEach((r, c, colour) -> {
+            bounds[0] = Math.min(bounds[0], r);
+            bounds[1] = Math.min(bounds[1], c);
+            bounds[2] = Math.max(bounds[2], r);
+            bounds[3] = Math.max(bounds[3], c);
+        });
+        int minRow = bounds[0] - 1;
+        int minColumn = bounds[1] - 1;
+        int maxRow = bounds[2] + 1;
+        int maxColumn = bounds[3] + 1;
 
         log.atDebug()
            .setMessage("Trench:\n{}")
-           .addArgument(() -> Coordinate.printMap(minRow, minColumn, maxRow, maxColumn, excavation.keySet()))
+           .addArgument(() -> Coordinate.printMap(minRow, minColumn, maxRow, maxColumn, excavation.toMap().keySet()))
            .log();
 
         // Hollow out the middle
-        // Find all the "outside" spaces
-        Set<Coordinate> outsideSpaces = new HashSet<>();
-        Queue<Coordinate> spacesToCheck = new ArrayDeque<>();
-        Range<Integer> rowRange = Range.of(minRow, maxRow);
-        Range<Integer> columnRange = Range.of(minColumn, maxColumn);
-        spacesToCheck.add(Coordinate.of(minRow, minColumn));
-        while (!spacesToCheck.isEmpty()) {
-            Coordinate spaceToCheck = spacesToCheck.poll();
-            if (!(excavation.containsKey(spaceToCheck) || outsideSpaces.contains(spaceToCheck))) {
-                outsideSpaces.add(spaceToCheck);
-                spacesToCheck.addAll(spaceToCheck.findAdjacent()
-                                                 .stream()
-                                                 .filter(c -> !(excavation.containsKey(c) || outsideSpaces.contains(c))
-                                                              &&
-                                                              rowRange.contains(c.getRow())
-                                                              && columnRange.contains(c.getColumn()))
-                                                 .collect(Collectors.toSet()));
+        // Find all the "outside" spaces, marking them as they're found so each is
+        // only pushed once
+        LongCoordinateSet outsideSpaces = new LongCoordinateSet((maxRow - minRow + 1) * (maxColumn - minColumn + 1));
+        long[] spacesToCheck = new long[64];
+        int stackSize = 0;
+        outsideSpaces.add(minRow, minColumn);
+        spacesToCheck[stackSize++] = LongCoordinateSet.pack(minRow, minColumn);
+        while (stackSize > 0) {
+            long spaceToCheck = spacesToCheck[--stackSize];
+            int row = LongCoordinateSet.row(spaceToCheck);
+            int column = LongCoordinateSet.column(spaceToCheck);
+            for (int r = Math.max(row - 1, minRow); r <= Math.min(row + 1, maxRow); r++) {
+                for (int c = Math.max(column - 1, minColumn); c <= Math.min(column + 1, maxColumn); c++) {
+                    if (!excavation.containsKey(r, c) && outsideSpaces.add(r, c)) {
+                        if (stackSize == spacesToCheck.length)
+                            spacesToCheck = Arrays.copyOf(spacesToCheck, stackSize * 2);
+                        spacesToCheck[stackSize++] = LongCoordinateSet.pack(r, c);
+                    }
+                }
             }
         }
 
@@ -167,7 +195,7 @@ public class Day18 {
      *     The lines describing the dig plan
      * @return The volume of the excavated lagoon.
      */
-    private static long part2(final List<String> lines) {
+    static long part2(final List<String> lines) {
 
         // "Research" has led me to:
         // https://www.themathdoctors.org/polygon-coordinates-and-areas/
@@ -291,12 +319,13 @@ public class Day18 {
         return (maxRow - minRow + 1) * (maxColumn - minColumn + 1) - outsideSpaces.size();
     }
 
-    private static Map<Coordinate, Integer> excavate(final List<String> lines) {
-        Map<Coordinate, Integer> excavation = new HashMap<>();
+    private static LongCoordinateMap excavate(final List<String> lines) {
+        LongCoordinateMap excavation = new LongCoordinateMap();
 
         // Yes, "The digger starts in a 1 meter cube hole in the ground.",
         // but the colour isn't given until the last step.
-        Coordinate currentPosition = Coordinate.of(1, 1);
+        int currentRow = 1;
+        int currentColumn = 1;
 
         for (String line : lines) {
             String[] arguments = line.split(" ");
@@ -305,14 +334,11 @@ public class Day18 {
             int colour = Integer.parseInt(arguments[2].substring(2, 8), 16);
 
             // Excavate that many cubes in that direction
-            int currentRow = currentPosition.getRow();
-            int currentColumn = currentPosition.getColumn();
-            IntStream.rangeClosed(1, distance)
-                     .forEach(i -> excavation.put(Coordinate.of(currentRow + dir.translation.getRow() * i,
-                                                                currentColumn + dir.translation.getColumn() * i),
-                                                  colour));
-            currentPosition = Coordinate.of(currentRow + dir.translation.getRow() * distance,
-                                            currentColumn + dir.translation.getColumn() * distance);
+            for (int i = 1; i <= distance; i++) {
+                currentRow += dir.translation.getRow();
+                currentColumn += dir.translation.getColumn();
+                excavation.put(currentRow, currentColumn, colour);
+            }
         }
 
         return excavation;
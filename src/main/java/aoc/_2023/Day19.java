@@ -1,5 +1,8 @@
 package aoc._2023;
 
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -23,6 +26,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.LoggerFactory;
 
 import aoc.FileUtils;
+import aoc.Snapshot;
+import aoc.Solver;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
@@ -33,7 +38,7 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day19 {
+public class Day19 implements Solver {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day19.class);
 
@@ -330,6 +335,21 @@ public class Day19 {
         log.info("The number of distinct combinations that will be accepted is: {}", part2(lines));
     }
 
+    @Override
+    public int getDay() {
+        return 19;
+    }
+
+    @Override
+    public long solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+
+    @Override
+    public long solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+
     /**
      * Sort through all of the parts you've been given; what do you get if you
      * add together all of the rating numbers for all of the parts that
@@ -339,10 +359,10 @@ public class Day19 {
      *     The lines representing workflows and parts.
      * @return The sum of the total values of the accepted parts.
      */
-    private static int part1(final List<String> lines) {
+    static int part1(final List<String> lines) {
 
         // Parse the workflows
-        Map<String, Workflow> workflowMap = parseWorkflows(lines);
+        Map<String, Workflow> workflowMap = loadWorkflows(lines);
 
         int partsStart = workflowMap.size() - 1;
         // Parse the parts
@@ -397,10 +417,10 @@ public class Day19 {
      *     are to be excluded).
      * @return The number of distinct combinations that will be accepted.
      */
-    private static long part2(final List<String> lines) {
+    static long part2(final List<String> lines) {
 
         // Parse the workflows
-        Map<String, Workflow> workflowMap = parseWorkflows(lines);
+        Map<String, Workflow> workflowMap = loadWorkflows(lines);
 
         // The workflows form a tree, with accept and reject at the leaves
         // Traverse the tree and narrow down the ranges of values at each node
@@ -442,6 +462,53 @@ public class Day19 {
         return acceptedParts.stream().mapToLong(RangedPart::getCombinations).sum();
     }
 
+    /**
+     * Parse the workflows, or read them from a {@link Snapshot} of an earlier
+     * parse.
+     */
+    private static Map<String, Workflow> loadWorkflows(final List<String> lines) {
+        return Snapshot.load("Day19-workflows", lines, Day19::parseWorkflows, Day19::writeWorkflows,
+                             Day19::readWorkflows);
+    }
+
+    /**
+     * Write the names of all of the workflows, followed by their rules, with
+     * each outcome written as the index of its workflow's name.
+     */
+    private static void writeWorkflows(final Map<String, Workflow> workflowMap, final DataOutputStream out)
+            throws IOException {
+        List<String> names = new ArrayList<>(workflowMap.keySet());
+        out.writeInt(names.size());
+        for (String name : names)
+            Snapshot.writeString(out, name);
+
+        for (String name : names) {
+            List<Workflow.Rule> rules = workflowMap.get(name).rules;
+            out.writeInt(rules.size());
+            for (Workflow.Rule rule : rules) {
+                Snapshot.writeString(out, rule.propertyName);
+                Snapshot.writeString(out, rule.comparisonString);
+                out.writeInt(rule.value);
+                out.writeInt(names.indexOf(rule.outcome.name));
+            }
+        }
+    }
+
+    private static Map<String, Workflow> readWorkflows(final ByteBuffer in) {
+        List<Workflow> workflows = new ArrayList<>();
+        for (int count = in.getInt(); count > 0; count--)
+            workflows.add(new Workflow(Snapshot.readString(in)));
+
+        Map<String, Workflow> workflowMap = new HashMap<>();
+        for (Workflow workflow : workflows) {
+            for (int rules = in.getInt(); rules > 0; rules--)
+                workflow.rules.add(new Workflow.Rule(Snapshot.readString(in), Snapshot.readString(in), in.getInt(),
+                                                     workflows.get(in.getInt())));
+            workflowMap.put(workflow.name, workflow);
+        }
+        return workflowMap;
+    }
+
     /**
      * Read the lines representing {@link Workflow}s and construct the map of
      * them all.
@@ -450,7 +517,7 @@ public class Day19 {
      *     The lines representing {@link Workflow}s.
      * @return A map of {@link Workflow} names to their instances.
      */
-    private static Map<String, Workflow> parseWorkflows(final List<String> lines) {
+    static Map<String, Workflow> parseWorkflows(final List<String> lines) {
         Map<String, Workflow> workflowMap = new HashMap<>();
         for (String line : lines) {
             if (line.isBlank())
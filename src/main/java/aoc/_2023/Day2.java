@@ -10,6 +10,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.LoggerFactory;
 
 import aoc.FileUtils;
+import aoc.StreamingSolver;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
@@ -20,7 +21,7 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day2 {
+public class Day2 implements StreamingSolver {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day2.class);
 
@@ -61,6 +62,31 @@ public class Day2 {
         log.info("The sum of the products of the number of cubes needed is: {}", part2(lines));
     }
 
+    @Override
+    public int getDay() {
+        return 2;
+    }
+
+    @Override
+    public long solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+
+    @Override
+    public long solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+
+    @Override
+    public long solvePart1(final Stream<String> lines) {
+        return part1(lines);
+    }
+
+    @Override
+    public long solvePart2(final Stream<String> lines) {
+        return part2(lines);
+    }
+
     /**
      * The Elf would first like to know which games would have been possible if the
      * bag contained only 12 red cubes, 13 green cubes, and 14 blue cubes?
@@ -68,7 +94,14 @@ public class Day2 {
      * @param lines
      * @return The sum of the game ids which are possible for that many cubes
      */
-    private static int part1(final List<String> lines) {
+    static int part1(final List<String> lines) {
+        return part1(lines.stream());
+    }
+
+    /**
+     * As {@link #part1(List)}, consuming the lines lazily.
+     */
+    static int part1(final Stream<String> lines) {
         final int maxRed = 12;
         final int maxGreen = 13;
         final int maxBlue = 14;
@@ -77,7 +110,7 @@ public class Day2 {
 
         List<Map<CubeColour, Integer>> result;
         int gameId;
-        for (String gameLine : lines) {
+        for (String gameLine : (Iterable<String>) lines::iterator) {
             log.debug("Game input: {}", gameLine);
             result = countCubes(gameLine.split(":")[1]);
 
@@ -127,11 +160,18 @@ public class Day2 {
      * @return The sum of the product of the number of cubes required for each game
      *     to be possible.
      */
-    private static int part2(final List<String> lines) {
+    static int part2(final List<String> lines) {
+        return part2(lines.stream());
+    }
+
+    /**
+     * As {@link #part2(List)}, consuming the lines lazily.
+     */
+    static int part2(final Stream<String> lines) {
 
         int sumOfProducts = 0;
 
-        for (String gameLine : lines) {
+        for (String gameLine : (Iterable<String>) lines::iterator) {
             int maxRed = 0;
             int maxGreen = 0;
             int maxBlue = 0;
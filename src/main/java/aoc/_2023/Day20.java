@@ -18,6 +18,7 @@ import org.apache.commons.lang3.ObjectUtils;
 import org.slf4j.LoggerFactory;
 
 import aoc.FileUtils;
+import aoc.Solver;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
@@ -28,7 +29,7 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day20 {
+public class Day20 implements Solver {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day20.class);
 
@@ -242,6 +243,21 @@ public class Day20 {
                  part2(lines));
     }
 
+    @Override
+    public int getDay() {
+        return 20;
+    }
+
+    @Override
+    public long solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+
+    @Override
+    public long solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+
     /**
      * Consult your module configuration; determine the number of low pulses and
      * high pulses that would be sent after pushing the button 1000 times,
@@ -253,7 +269,7 @@ public class Day20 {
      *     The lines describing each module.
      * @return The product of the total high and low pulses.
      */
-    private static long part1(final List<String> lines) {
+    static long part1(final List<String> lines) {
 
         // Parse the modules
         Map<String, Module> moduleMap = parseModules(lines);
@@ -318,7 +334,7 @@ public class Day20 {
      * @return The fewest number of button pushes required to send a low pulse to
      *     module "rx".
      */
-    private static int part2(final List<String> lines) {
+    static int part2(final List<String> lines) {
 
         // Parse the modules
         Map<String, Module> moduleMap = parseModules(lines);
@@ -359,7 +375,7 @@ public class Day20 {
         return buttonPushes;
     }
 
-    private static Map<String, Module> parseModules(final List<String> lines) {
+    static Map<String, Module> parseModules(final List<String> lines) {
         Map<String, Module> moduleMap = new HashMap<>();
         Map<Character, Supplier<Operation>> operationCreatorMap = Map.of('%', FlipFlop::new, '&', Conjunction::new);
         lines.forEach(line -> {
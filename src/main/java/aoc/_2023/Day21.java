@@ -1,16 +1,20 @@
 package aoc._2023;
 
-import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Queue;
+import java.util.OptionalLong;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import org.slf4j.LoggerFactory;
 
+import aoc.CharGrid;
 import aoc.Coordinate;
+import aoc.Direction;
+import aoc.Extrapolation;
 import aoc.FileUtils;
+import aoc.Solver;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
@@ -21,7 +25,7 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day21 {
+public class Day21 implements Solver {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day21.class);
 
@@ -29,6 +33,20 @@ public class Day21 {
 
     private static final String TEST_INPUT_TXT = "testInput/Day21.txt";
 
+    private static final char START = 'S';
+
+    private static final char ROCK = '#';
+
+    /**
+     * How many tiles out from the start's tile the map is first searched,
+     * before the fewest steps to each plot are taken to go up by a tile's
+     * width per tile.
+     */
+    private static final int TILE_RADIUS = 4;
+
+    /** The most cells of tiled garden to search before giving up on the steps settling. */
+    private static final long MAX_TILED_CELLS = 1L << 26;
+
     public static void main(String[] args) {
 
         log.info("Part 1:");
@@ -58,10 +76,10 @@ public class Day21 {
         // log.setLevel(Level.DEBUG);
 
         int[] steps2 = { 6, 10, 50, 100, 500, 1000, 5000 };
-        long[] expectedTestResults = { 16, 50, 1594, 6536, 167004, 668697, 16722044 };
+        long[] expectedTestResults = { 16, 50, 1594, 6536, 167004, 668697, 16733044 };
         for (int i = 0; i < steps2.length; i++) {
 
-            int part2TestResult = part2(testLines, steps2[i]);
+            long part2TestResult = part2(testLines, steps2[i]);
             log.info("The Elf can reach {} garden plots in {} steps. (should be {})", part2TestResult, steps2[i],
                      expectedTestResults[i]);
 
@@ -69,11 +87,36 @@ public class Day21 {
                 log.error("The test result doesn't match the expected value.");
         }
 
-        log.setLevel(Level.INFO);
+        // Check the tiled count against searching every tile, for as many steps as that can manage
+        for (List<String> garden : List.of(testLines, lines)) {
+            for (int steps3 : new int[] { 7, 64, 65, 130, 131, 196, 327, 500 }) {
+                long tiled = part2(garden, steps3);
+                long simulated = countReachableBySimulation(CharGrid.of(garden), steps3);
+                log.debug("In {} steps: {} by tiles, {} by simulation.", steps3, tiled, simulated);
+                if (tiled != simulated)
+                    log.error("In {} steps, the tiled count {} doesn't match the simulated count {}.", steps3, tiled,
+                              simulated);
+            }
+        }
 
         log.info("The Elf can reach {} garden plots in 26501365 steps.", part2(lines, 26501365));
     }
 
+    @Override
+    public int getDay() {
+        return 21;
+    }
+
+    @Override
+    public long solvePart1(final List<String> lines) {
+        return part1(lines, 64);
+    }
+
+    @Override
+    public long solvePart2(final List<String> lines) {
+        return part2(lines, 26_501_365);
+    }
+
     /**
      * Starting from the garden plot marked S on your map, how many garden plots
      * could the Elf reach in exactly n steps?
@@ -84,47 +127,96 @@ public class Day21 {
      *     The number of steps the Elf will take.
      * @return The number of garden plots that can be reached.
      */
-    private static int part1(final List<String> lines, int steps) {
-
-        int rows = lines.size();
-        int columns = lines.get(0).length();
-
-        // Parse the map
-        Set<Coordinate> rocks = Coordinate.findCoordinates(lines, '#');
-        Set<Coordinate> gardenPlots = Coordinate.findCoordinates(lines, '.');
-        Coordinate start = Coordinate.findCoordinates(lines, 'S').stream().findAny().get();
-        gardenPlots.add(start);
-
-        // Start at start's neighbours, and go n steps.
-        Queue<Coordinate> plotsToVisit = new ArrayDeque<>(start.findOrthogonalAdjacent()
-                                                               .stream()
-                                                               .filter(gardenPlots::contains)
-                                                               .collect(Collectors.toSet()));
-        Queue<Coordinate> plotsToVisitNext = new ArrayDeque<>();
-
-        IntStream.range(1, steps).forEach(i -> {
-            // log.debug("Step {}:\n{}", i, plotsToVisit);
-            log.atDebug()
-               .setMessage("Step {}:\n{}\n{}")
-               .addArgument(i)
-               .addArgument(plotsToVisit)
-               .addArgument(() -> Coordinate.printMap(rows, columns, rocks, '#', Set.copyOf(plotsToVisit), 'O'))
-               .log();
-
-            while (!plotsToVisit.isEmpty()) {
-                Coordinate plot = plotsToVisit.poll();
-                plotsToVisitNext.addAll(plot.findOrthogonalAdjacent()
-                                            .stream()
-                                            .filter(c -> gardenPlots.contains(c) &&
-                                                         !plotsToVisitNext.contains(c))
-                                            .collect(Collectors.toSet()));
+    static int part1(final List<String> lines, int steps) {
+
+        CharGrid garden = CharGrid.of(lines);
+
+        // Find the fewest steps to each plot, then count those the Elf can get back to on the last step
+        int[] fewestSteps = fewestSteps(garden, garden.indexOf(START));
+        int reachable = countReachable(fewestSteps, steps);
+
+        log.atDebug()
+           .setMessage("Reachable in {} steps:\n{}")
+           .addArgument(steps)
+           .addArgument(() -> {
+               Set<Coordinate> rocks = IntStream.range(0, garden.size())
+                                                .filter(cell -> garden.get(cell) == ROCK)
+                                                .mapToObj(garden::coordinateOf)
+                                                .collect(Collectors.toSet());
+               Set<Coordinate> plots = IntStream.range(0, garden.size())
+                                                .filter(cell -> isReachable(fewestSteps[cell], steps))
+                                                .mapToObj(garden::coordinateOf)
+                                                .collect(Collectors.toSet());
+               return Coordinate.printMap(garden.getRows(), garden.getColumns(), rocks, ROCK, plots, 'O');
+           })
+           .log();
+
+        return reachable;
+    }
+
+    /**
+     * Find the fewest steps from the start to every garden plot, with a single
+     * breadth first search.
+     * 
+     * @param garden
+     *     The garden plots and rocks.
+     * @param start
+     *     The index of the plot to start from.
+     * @return The fewest steps to each cell, by index, or -1 for rocks and
+     *     plots which can't be reached.
+     */
+    static int[] fewestSteps(final CharGrid garden, final int start) {
+
+        int[] fewestSteps = new int[garden.size()];
+        Arrays.fill(fewestSteps, -1);
+
+        // Each cell is queued once, so an array can hold the whole queue
+        int[] queue = new int[garden.size()];
+        int head = 0;
+        int tail = 0;
+        fewestSteps[start] = 0;
+        queue[tail++] = start;
+
+        while (head < tail) {
+            int cell = queue[head++];
+            for (Direction direction : Direction.values()) {
+                int next = garden.neighbour(cell, direction);
+                if (next >= 0 && fewestSteps[next] < 0 && garden.get(next) != ROCK) {
+                    fewestSteps[next] = fewestSteps[cell] + 1;
+                    queue[tail++] = next;
+                }
             }
-            plotsToVisit.addAll(plotsToVisitNext);
-            plotsToVisitNext.clear();
+        }
 
-        });
+        return fewestSteps;
+    }
 
-        return plotsToVisit.size();
+    /**
+     * @return The number of plots which can be reached in exactly the given
+     *     number of steps, given the fewest steps to each.
+     */
+    static int countReachable(final int[] fewestSteps, final int steps) {
+        int reachable = 0;
+        for (int fewest : fewestSteps)
+            if (isReachable(fewest, steps))
+                reachable++;
+        return reachable;
+    }
+
+    /**
+     * A plot can be reached in exactly n steps if it can be reached in at most
+     * n, with an even number of steps to spare, as the Elf can step off it and
+     * back again. As each step changes the parity of row + column, the steps
+     * to spare can never be odd.
+     * 
+     * @param fewestSteps
+     *     The fewest steps to the plot, or -1 if it can't be reached.
+     * @param steps
+     *     The number of steps the Elf will take.
+     * @return Whether the plot can be reached in exactly that many steps.
+     */
+    private static boolean isReachable(int fewestSteps, int steps) {
+        return fewestSteps >= 0 && fewestSteps <= steps && (steps - fewestSteps) % 2 == 0;
     }
 
     /**
@@ -134,54 +226,271 @@ public class Day21 {
      * @param lines
      *     The lines describing the garden plots and rocks.
      * @param steps
+     *     The number of steps the Elf will take.
+     * @return The number of garden plots that can be reached.
+     */
+    static long part2(final List<String> lines, int steps) {
+
+        CharGrid garden = CharGrid.of(lines);
+
+        // With a clear way out from the start, the count grows as a quadratic in the number of tiles walked
+        if (hasClearStartLines(garden)) {
+            OptionalLong extrapolated = extrapolateReachable(garden, steps);
+            if (extrapolated.isPresent())
+                return extrapolated.getAsLong();
+            log.debug("The counts for {} steps aren't quadratic, so counting tiles.", steps);
+        }
+
+        return countReachableTiled(garden, steps);
+    }
+
+    /**
+     * @return Whether the garden is square, and the start's row and column have
+     *     no rocks, so the Elf can walk straight to the next tile each way.
+     */
+    private static boolean hasClearStartLines(final CharGrid garden) {
+        if (garden.getRows() != garden.getColumns())
+            return false;
+        int start = garden.indexOf(START);
+        return garden.rowIndices(garden.rowOf(start)).noneMatch(cell -> garden.get(cell) == ROCK)
+               && garden.columnIndices(garden.columnOf(start)).noneMatch(cell -> garden.get(cell) == ROCK);
+    }
+
+    /**
+     * Predict the plots reachable in exactly n steps, from the counts for the
+     * same number of steps into the last tile walked, but only 0, 1, 2 and 3
+     * tiles out, with {@link Extrapolation#quadratic}.
+     * 
+     * @param garden
+     *     One tile of the map, which must be square.
+     * @param steps
+     *     The number of steps the Elf will take.
+     * @return The number of garden plots that can be reached, or empty if the
+     *     counts aren't quadratic, or there are too few steps to sample.
+     */
+    private static OptionalLong extrapolateReachable(final CharGrid garden, final int steps) {
+        int size = garden.getRows();
+        int offset = steps % size;
+        int lastSample = offset + 3 * size;
+        if (lastSample >= steps)
+            return OptionalLong.empty();
+
+        // One search covers all of the samples
+        int radius = lastSample / size + 1;
+        CharGrid tiledGarden = tile(garden, radius);
+        int[] fewestSteps = fewestSteps(tiledGarden, startOf(garden, tiledGarden, radius));
+
+        return Extrapolation.quadratic(sample -> countReachable(fewestSteps, (int) sample), offset, size, steps);
+    }
+
+    /**
+     * Count the plots reachable in exactly n steps on the infinite map, without
+     * visiting every one.
+     * <p>
+     * The fewest steps to every plot in the tiles within a radius of the
+     * start's tile (plus one, so paths can go round the outside) are found
+     * with a breadth first search. Far enough out, the map is the same tile
+     * after tile, so a plot one tile further along a row or column of tiles
+     * is a tile's width more steps away. Then each plot in a tile on the edge
+     * of the searched area stands for the same plot in all the tiles beyond
+     * it, in a line, and each plot in a corner tile for the same plot in the
+     * triangle of tiles beyond it, where there are k + 1 tiles k tiles further
+     * out. The plots reachable in those are counted in closed form.
+     * <p>
+     * The radius starts at {@link #TILE_RADIUS}, and is doubled until the
+     * edge tiles are each a tile's width further than the tiles inside them,
+     * or the Elf can't get as far as the edge tiles.
+     * 
+     * @param garden
+     *     One tile of the map, which must be square.
      * @param steps
      *     The number of steps the Elf will take.
      * @return The number of garden plots that can be reached.
+     * @throws IllegalArgumentException
+     *     If the tile isn't square.
+     * @throws IllegalStateException
+     *     If the steps to the edge tiles don't settle, or the tiles the Elf
+     *     can reach don't fit, within {@link #MAX_TILED_CELLS}.
      */
-    private static int part2(final List<String> lines, int steps) {
-
-        int rows = lines.size();
-        int columns = lines.get(0).length();
-
-        // Parse the map
-        Set<Coordinate> rocks = Coordinate.findCoordinates(lines, '#');
-        Set<Coordinate> gardenPlots = Coordinate.findCoordinates(lines, '.');
-        Coordinate start = Coordinate.findCoordinates(lines, 'S').stream().findAny().get();
-        gardenPlots.add(start);
-
-        // Start at start's neighbours, and go n steps.
-        Queue<Coordinate> plotsToVisit = new ArrayDeque<>(start.findOrthogonalAdjacent()
-                                                               .stream()
-                                                               .filter(gardenPlots::contains)
-                                                               .collect(Collectors.toSet()));
-        Queue<Coordinate> plotsToVisitNext = new ArrayDeque<>();
-
-        IntStream.range(1, steps).forEach(i -> {
-            // log.debug("Step {}:\n{}", i, plotsToVisit);
-            log.atDebug()
-               .setMessage("Step {}:\n{}\n{}")
-               .addArgument(i)
-               .addArgument(plotsToVisit)
-               .addArgument(() -> Coordinate.printMap(rows, columns, rocks, '#', Set.copyOf(plotsToVisit), 'O'))
-               .log();
-
-            while (!plotsToVisit.isEmpty()) {
-                Coordinate plot = plotsToVisit.poll();
-                plotsToVisitNext.addAll(plot.findOrthogonalAdjacent()
-                                            .stream()
-                                            .filter(c -> gardenPlots.contains(Coordinate.of((c.getRow() - 1) % rows + 1,
-                                                                                            (c.getColumn()
-                                                                                             - 1) % columns + 1))
-                                                         &&
-                                                         !plotsToVisitNext.contains(c))
-                                            .collect(Collectors.toSet()));
+    static long countReachableTiled(final CharGrid garden, final int steps) {
+
+        int size = garden.getRows();
+        if (garden.getColumns() != size)
+            throw new IllegalArgumentException(String.format("The garden isn't square: %d x %d", garden.getRows(),
+                                                             garden.getColumns()));
+
+        for (int radius = TILE_RADIUS;; radius *= 2) {
+            // Every plot in the edge tiles is more than radius - 1 tiles' width away
+            if ((long) (radius - 1) * size >= steps) {
+                if (tiledCells(size, steps / size + 1) > MAX_TILED_CELLS)
+                    throw new IllegalStateException("Too many tiles to search for " + steps + " steps");
+                return countReachableBySimulation(garden, steps);
             }
-            plotsToVisit.addAll(plotsToVisitNext);
-            plotsToVisitNext.clear();
 
-        });
+            int searchRadius = radius + 1;
+            if (tiledCells(size, searchRadius) > MAX_TILED_CELLS)
+                throw new IllegalStateException("The steps to the plots didn't settle within " + radius + " tiles");
+
+            CharGrid tiledGarden = tile(garden, searchRadius);
+            int[] fewestSteps = fewestSteps(tiledGarden, startOf(garden, tiledGarden, searchRadius));
+
+            if (isSettled(fewestSteps, tiledGarden.getColumns(), size, searchRadius, radius))
+                return countReachableTiled(fewestSteps, tiledGarden.getColumns(), size, searchRadius, radius, steps);
+
+            log.debug("The steps to the plots haven't settled within {} tiles.", radius);
+        }
+    }
+
+    /**
+     * @return The number of cells in a square of tiles, radius tiles each side
+     *     of the middle one.
+     */
+    private static long tiledCells(final int size, final int radius) {
+        long tiles = 2L * radius + 1;
+        return tiles * tiles * size * size;
+    }
+
+    /**
+     * @return Whether each plot in the tiles at the given radius is a tile's
+     *     width further than the same plot one tile nearer the start, in the
+     *     direction(s) it's at the radius in, or both can't be reached.
+     */
+    private static boolean isSettled(final int[] fewestSteps, final int tiledColumns, final int size,
+                                     final int searchRadius, final int radius) {
+        for (int cell = 0; cell < fewestSteps.length; cell++) {
+            int tileRow = cell / tiledColumns / size - searchRadius;
+            int tileColumn = cell % tiledColumns / size - searchRadius;
+            if (Math.abs(tileRow) > radius || Math.abs(tileColumn) > radius)
+                continue;
+
+            if (Math.abs(tileRow) == radius
+                && !isTileFurther(fewestSteps, cell, cell - Integer.signum(tileRow) * size * tiledColumns, size))
+                return false;
+            if (Math.abs(tileColumn) == radius
+                && !isTileFurther(fewestSteps, cell, cell - Integer.signum(tileColumn) * size, size))
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean isTileFurther(final int[] fewestSteps, final int cell, final int nearerCell,
+                                         final int size) {
+        if (fewestSteps[cell] < 0 || fewestSteps[nearerCell] < 0)
+            return fewestSteps[cell] < 0 && fewestSteps[nearerCell] < 0;
+        return fewestSteps[cell] - fewestSteps[nearerCell] == size;
+    }
+
+    /**
+     * Count the plots reachable in exactly n steps, given the fewest steps to
+     * the plots in the searched tiles, which have settled at the radius.
+     */
+    private static long countReachableTiled(final int[] fewestSteps, final int tiledColumns, final int size,
+                                            final int searchRadius, final int radius, final int steps) {
+        long reachable = 0;
+        for (int cell = 0; cell < fewestSteps.length; cell++) {
+            int fewest = fewestSteps[cell];
+            if (fewest < 0 || fewest > steps)
+                continue;
+
+            // Which tile the plot is in, from the start's tile
+            int tileRow = Math.abs(cell / tiledColumns / size - searchRadius);
+            int tileColumn = Math.abs(cell % tiledColumns / size - searchRadius);
+            if (tileRow > radius || tileColumn > radius)
+                continue;
+
+            if (tileRow == radius && tileColumn == radius)
+                reachable += countBeyond(fewest, size, steps, true);
+            else if (tileRow == radius || tileColumn == radius)
+                reachable += countBeyond(fewest, size, steps, false);
+            else if (isReachable(fewest, steps))
+                reachable++;
+        }
+        return reachable;
+    }
+
+    /**
+     * Count the plots reachable in exactly n steps on the infinite map by
+     * searching every tile close enough to reach. Only practical for a few
+     * hundred steps, to check {@link #countReachableTiled(CharGrid, int)}.
+     * 
+     * @param garden
+     *     One tile of the map.
+     * @param steps
+     *     The number of steps the Elf will take.
+     * @return The number of garden plots that can be reached.
+     */
+    static long countReachableBySimulation(final CharGrid garden, final int steps) {
+
+        int radius = steps / Math.min(garden.getRows(), garden.getColumns()) + 1;
+        CharGrid tiledGarden = tile(garden, radius);
+        return countReachable(fewestSteps(tiledGarden, startOf(garden, tiledGarden, radius)), steps);
+    }
+
+    /**
+     * @return The garden repeated in a square of tiles, radius tiles each side
+     *     of the middle one.
+     */
+    private static CharGrid tile(final CharGrid garden, final int radius) {
+        int tiles = 2 * radius + 1;
+        int rows = garden.getRows();
+        int columns = garden.getColumns();
+        CharGrid tiledGarden = new CharGrid(rows * tiles, columns * tiles, '.');
+        for (int row = 0; row < rows * tiles; row++)
+            for (int column = 0; column < columns * tiles; column++)
+                tiledGarden.set(row * columns * tiles + column, garden.get(row % rows * columns + column % columns));
+        return tiledGarden;
+    }
+
+    /**
+     * @return The index in the tiled garden of the start in its middle tile.
+     */
+    private static int startOf(final CharGrid garden, final CharGrid tiledGarden, final int radius) {
+        int start = garden.indexOf(START);
+        int row = radius * garden.getRows() + start / garden.getColumns();
+        int column = radius * garden.getColumns() + start % garden.getColumns();
+        return row * tiledGarden.getColumns() + column;
+    }
 
-        return plotsToVisit.size();
+    /**
+     * Count the copies of a plot which are reachable in exactly n steps, in the
+     * tiles 0, 1, 2, ... k tiles further out than the one it's the fewest
+     * steps away in, each k * size steps further away.
+     * 
+     * @param fewest
+     *     The fewest steps to the plot in the nearest tile, at most n.
+     * @param size
+     *     The width of a tile.
+     * @param steps
+     *     The number of steps the Elf will take.
+     * @param triangle
+     *     Whether there are k + 1 tiles k tiles out, beyond a corner, rather
+     *     than one, beyond an edge.
+     * @return The number of copies reachable.
+     */
+    private static long countBeyond(final int fewest, final int size, final int steps, final boolean triangle) {
+        int spare = steps - fewest;
+        long furthest = spare / size;
+
+        // Tiles further out with an odd number of steps to spare can't be reached
+        long first;
+        long stride;
+        if (size % 2 == 0) {
+            if (spare % 2 != 0)
+                return 0;
+            first = 0;
+            stride = 1;
+        } else {
+            first = spare % 2;
+            stride = 2;
+        }
+        if (furthest < first)
+            return 0;
+
+        long count = (furthest - first) / stride + 1;
+        if (!triangle)
+            return count;
+        // The sum of k + 1 for k = first, first + stride, ...
+        return count * (first + 1) + stride * count * (count - 1) / 2;
     }
 
-}
\ No newline at end of file
+}
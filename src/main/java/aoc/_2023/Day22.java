@@ -1,16 +1,16 @@
 package aoc._2023;
 
-import java.util.ArrayDeque;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
 import java.util.TreeSet;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -21,6 +21,8 @@ import org.slf4j.LoggerFactory;
 import aoc.Coordinate;
 import aoc.Coordinate3D;
 import aoc.FileUtils;
+import aoc.Snapshot;
+import aoc.Solver;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
@@ -31,7 +33,7 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day22 {
+public class Day22 implements Solver {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day22.class);
 
@@ -43,13 +45,20 @@ public class Day22 {
         String name;
         Set<Coordinate3D> blocks = new TreeSet<>();
 
+        /** The order the brick settled in, so the bricks it's supported by all have lower ids. */
+        int id = -1;
+
         Set<Brick> supports = new HashSet<>();
         Set<Brick> supportedBy = new HashSet<>();
 
-        public void moveDown() {
+        public void moveDown(int distance) {
             this.blocks = this.blocks.stream()
-                                     .map(b -> Coordinate3D.of(b.getRow(), b.getColumn(), b.getHeight() - 1))
-                                     .collect(Collectors.toSet());
+                                     .map(b -> Coordinate3D.of(b.getRow(), b.getColumn(), b.getHeight() - distance))
+                                     .collect(Collectors.toCollection(TreeSet::new));
+        }
+
+        int bottom() {
+            return blocks.stream().mapToInt(Coordinate3D::getHeight).min().getAsInt();
         }
 
         static Brick from(String brickString) {
@@ -117,9 +126,7 @@ public class Day22 {
         // Read the real file
         List<String> lines = FileUtils.readFile(INPUT_TXT);
 
-        // log.info("The number of bricks that can be safely, individually,
-        // disintegrated is: {} (should be lower than 1003)",
-        // part1(lines));
+        log.info("The number of bricks that can be safely, individually, disintegrated is: {}", part1(lines));
 
         // PART 2
         log.info("Part 2:");
@@ -139,6 +146,21 @@ public class Day22 {
                  part2(lines));
     }
 
+    @Override
+    public int getDay() {
+        return 22;
+    }
+
+    @Override
+    public long solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+
+    @Override
+    public long solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+
     /**
      * Figure how the blocks will settle based on the snapshot. Once they've
      * settled, consider disintegrating a single brick; how many bricks could be
@@ -149,10 +171,10 @@ public class Day22 {
      * @return The number of bricks that can be safely, individually,
      *     disintegrated.
      */
-    private static int part1(final List<String> lines) {
+    static int part1(final List<String> lines) {
 
         // Parse the bricks
-        Set<Brick> bricks = parseBricks(lines);
+        Set<Brick> bricks = loadBricks(lines);
 
         log.debug("Bricks:\n{}", bricks);
 
@@ -189,7 +211,7 @@ public class Day22 {
            .log();
 
         // Lower all bricks
-        lowerBricks(bricks, height);
+        lowerBricks(bricks);
 
         log.atDebug()
            .setMessage("{}")
@@ -206,7 +228,40 @@ public class Day22 {
 
     }
 
-    private static Set<Brick> parseBricks(final List<String> lines) {
+    /**
+     * Parse the bricks, or read them from a {@link Snapshot} of an earlier
+     * parse. Either way they haven't been lowered yet.
+     */
+    private static Set<Brick> loadBricks(final List<String> lines) {
+        return Snapshot.load("Day22-bricks", lines, Day22::parseBricks, Day22::writeBricks, Day22::readBricks);
+    }
+
+    private static void writeBricks(final Set<Brick> bricks, final DataOutputStream out) throws IOException {
+        out.writeInt(bricks.size());
+        for (Brick brick : bricks) {
+            Snapshot.writeString(out, brick.name);
+            out.writeInt(brick.blocks.size());
+            for (Coordinate3D block : brick.blocks) {
+                out.writeInt(block.getRow());
+                out.writeInt(block.getColumn());
+                out.writeInt(block.getHeight());
+            }
+        }
+    }
+
+    private static Set<Brick> readBricks(final ByteBuffer in) {
+        Set<Brick> bricks = new HashSet<>();
+        for (int count = in.getInt(); count > 0; count--) {
+            Brick brick = new Brick();
+            brick.name = Snapshot.readString(in);
+            for (int blocks = in.getInt(); blocks > 0; blocks--)
+                brick.blocks.add(Coordinate3D.of(in.getInt(), in.getInt(), in.getInt()));
+            bricks.add(brick);
+        }
+        return bricks;
+    }
+
+    static Set<Brick> parseBricks(final List<String> lines) {
         Iterator<String> nameQueue = IterableUtils.loopingIterable(IntStream.range(0, 26)
                                                                             .mapToObj(i -> Character.toString('A' + i))
                                                                             .collect(Collectors.toList()))
@@ -217,44 +272,63 @@ public class Day22 {
                     .collect(Collectors.toSet());
     }
 
-    private static void lowerBricks(Set<Brick> bricks, int height) {
-        AtomicBoolean bricksMoved = new AtomicBoolean();
-        do {
-            bricksMoved.set(false);
-            // Start from 2, lower any brick that can be lowered?
-            IntStream.rangeClosed(2, height).forEach(level -> {
-                IterableUtils.filteredIterable(bricks,
-                                               brick -> brick.blocks.stream().anyMatch(b -> b.getHeight() == level))
-                             .forEach(brick -> {
-                                 // Can it be lowered?
-                                 int bottomLevel = brick.blocks.stream().mapToInt(Coordinate3D::getHeight).min()
-                                                               .getAsInt();
-                                 if (bottomLevel > 1) {
-                                     // Is every bottom level block free to move down?
-                                     Set<Brick> beneath = brick.blocks.stream()
-                                                                      .filter(b -> b.getHeight() == bottomLevel)
-                                                                      .flatMap(b -> bricks.stream()
-                                                                                          .filter(otherBrick//
-                                     -> otherBrick.blocks.contains(Coordinate3D.of(b.getRow(),
-                                                                                   b.getColumn(),
-                                                                                   bottomLevel - 1))))
-                                                                      .collect(Collectors.toSet());
-                                     if (beneath.isEmpty()) {
-                                         bricksMoved.set(true);
-                                         brick.moveDown();
-                                     } else {
-                                         // If not, add it the the brick it's resting on
-                                         beneath.forEach(b -> {
-                                             b.supports.add(brick);
-                                             brick.supportedBy.add(b);
-                                         });
-                                     }
-                                 }
-
-                             });
-            });
-
-        } while (bricksMoved.get());
+    /**
+     * Let the bricks fall until they've all settled, and record which bricks
+     * each one rests on.
+     * <p>
+     * A brick can only land on bricks which start lower than it, so the bricks
+     * are dropped once each, lowest first. The height of the top of the pile,
+     * and the brick at the top, are kept for every (x, y) column of the
+     * ground, so each brick falls straight to one above the highest column
+     * under it, and is supported by the bricks at the top of the columns
+     * which are exactly that high.
+     * 
+     * @param bricks
+     *     The bricks, which are moved down to where they settle.
+     * @return The bricks in the order they settled, i.e. by id.
+     */
+    private static List<Brick> lowerBricks(final Collection<Brick> bricks) {
+
+        List<Brick> settled = bricks.stream()
+                                    .sorted(Comparator.comparingInt(Brick::bottom))
+                                    .collect(Collectors.toList());
+
+        int rows = bricks.stream().flatMap(b -> b.blocks.stream()).mapToInt(Coordinate3D::getRow).max().orElse(0) + 1;
+        int columns = bricks.stream().flatMap(b -> b.blocks.stream()).mapToInt(Coordinate3D::getColumn).max()
+                            .orElse(0) + 1;
+
+        // The top of each column of the pile, where the floor is 0, and the id of the brick there, or -1
+        int[] topHeights = new int[rows * columns];
+        int[] topBricks = new int[rows * columns];
+        Arrays.fill(topBricks, -1);
+
+        for (int id = 0; id < settled.size(); id++) {
+            Brick brick = settled.get(id);
+            brick.id = id;
+
+            Set<Integer> footprint = brick.blocks.stream()
+                                                 .map(b -> b.getRow() * columns + b.getColumn())
+                                                 .collect(Collectors.toSet());
+            int restingHeight = footprint.stream().mapToInt(cell -> topHeights[cell]).max().getAsInt() + 1;
+
+            for (int cell : footprint) {
+                if (topHeights[cell] == restingHeight - 1 && topBricks[cell] >= 0) {
+                    Brick beneath = settled.get(topBricks[cell]);
+                    beneath.supports.add(brick);
+                    brick.supportedBy.add(beneath);
+                }
+            }
+
+            brick.moveDown(brick.bottom() - restingHeight);
+
+            for (Coordinate3D block : brick.blocks) {
+                int cell = block.getRow() * columns + block.getColumn();
+                topHeights[cell] = Math.max(topHeights[cell], block.getHeight());
+                topBricks[cell] = id;
+            }
+        }
+
+        return settled;
     }
 
     /**
@@ -267,73 +341,116 @@ public class Day22 {
      * @return The sum of the other bricks that would fall if each were
      *     individually disintegrated.
      */
-    private static int part2(final List<String> lines) {
+    static int part2(final List<String> lines) {
 
         // Parse the bricks
-        Set<Brick> bricks = parseBricks(lines);
-
-        int height = bricks.stream().flatMap(b -> b.blocks.stream()).mapToInt(Coordinate3D::getHeight).max().getAsInt();
+        Set<Brick> bricks = loadBricks(lines);
 
         // Lower all bricks
-        lowerBricks(bricks, height);
-
-        // How many bricks fell when a particular brick was removed
-        Map<Brick, Long> totalFallenBricks = new HashMap<>();
-
-        Queue<Brick> bricksToProcess = new ArrayDeque<>(bricks);
-
-        // For each brick, there is a number of bricks below it that have to fall for it
-        // to fall
-        Map<Brick, Set<Brick>> removedSupports = new HashMap<>();
-        while (!bricksToProcess.isEmpty()) {
-            removedSupports.clear();
-            Brick brickToProcess = bricksToProcess.poll();
-            brickToProcess.supports.forEach(b -> removedSupports.computeIfAbsent(b, k -> new HashSet<>())
-                                                                .add(brickToProcess));
-
-            // Follow up the stack and mark a support as having fallen
-            Queue<Brick> bricksOnTop = new ArrayDeque<>();
-            bricksOnTop.addAll(brickToProcess.supports);
-            while (!bricksOnTop.isEmpty()) {
-                Brick brickOnTop = bricksOnTop.poll();
-                // If all of its supported bricks have been removed, it falls
-                if (brickOnTop.supportedBy.equals(removedSupports.get(brickOnTop))) {
-                    brickOnTop.supports.forEach(b -> removedSupports.computeIfAbsent(b, k -> new HashSet<>())
-                                                                    .add(brickOnTop));
-                    bricksOnTop.addAll(brickOnTop.supports);
-                }
-            }
-
-            // Check how many bricks have lost all their supports
-            log.atDebug()
-               .setMessage("Removed supports for {}:\n{}")
-               .addArgument(brickToProcess.name)
-               .addArgument(() -> removedSupports.entrySet().stream()
-                                                 .map(e -> String.format("%s: %d/%d", e.getKey().name,
-                                                                         e.getValue().size(),
-                                                                         e.getKey().supportedBy.size()))
-                                                 .collect(Collectors.joining("\n")))
-               .log();
-
-            long total = removedSupports.entrySet()
-                                        .stream()
-                                        .filter(e -> e.getKey().supportedBy.equals(e.getValue())).count();
-            if (total > 0)
-                totalFallenBricks.put(brickToProcess, total);
+        List<Brick> settled = lowerBricks(bricks);
 
-        }
+        SupportDominators dominators = new SupportDominators(settled);
 
         log.atDebug()
            .setMessage("{}")
-           .addArgument(() -> totalFallenBricks.entrySet()
-                                               .stream()
-                                               .sorted(Comparator.comparing(e -> e.getKey().name))
-                                               .map(e -> String.format("Disintegrating brick %s would cause %s other bricks to fall.",
-                                                                       e.getKey().name,
-                                                                       e.getValue()))
-                                               .collect(Collectors.joining("\n")))
+           .addArgument(() -> settled.stream()
+                                     .filter(b -> dominators.countFalling(b.id) > 0)
+                                     .sorted(Comparator.comparing(b -> b.name))
+                                     .map(b -> String.format("Disintegrating brick %s would cause %d other bricks to "
+                                                             + "fall.", b.name, dominators.countFalling(b.id)))
+                                     .collect(Collectors.joining("\n")))
            .log();
-        return totalFallenBricks.values().stream().mapToInt(Number::intValue).sum();
+
+        return IntStream.range(0, dominators.size()).map(dominators::countFalling).sum();
+    }
+
+    /**
+     * Settle the bricks and find which bricks hold up which.
+     * 
+     * @param lines
+     *     The lines giving the 3d coordinates of the ends of the bricks
+     * @return The dominator tree of the settled bricks, whose ids are the
+     *     order they settled in.
+     */
+    static SupportDominators supportDominators(final List<String> lines) {
+        return new SupportDominators(lowerBricks(loadBricks(lines)));
+    }
+
+    /**
+     * The dominator tree of the graph of which bricks support which, rooted at
+     * the floor. One brick dominates another if every chain of supports from
+     * the floor up to the other brick goes through it, i.e. if the other brick
+     * would fall if it were disintegrated. So the bricks which would fall are
+     * exactly those in its subtree.
+     * <p>
+     * As every brick's supporters settled before it, the bricks are already
+     * in topological order, and the immediate dominator of each is the
+     * nearest common dominator of its supporters, found by walking up the
+     * tree built so far (as in Cooper, Harvey and Kennedy's algorithm, but in
+     * a single pass, as there are no cycles).
+     */
+    static final class SupportDominators {
+        /** The immediate dominator of each brick, by id + 1, with the floor as 0. */
+        private final int[] immediateDominators;
+        /** The number of bricks in the subtree of each brick, including itself, by id + 1. */
+        private final int[] subtreeSizes;
+
+        private SupportDominators(final List<Brick> settled) {
+            int nodes = settled.size() + 1;
+            immediateDominators = new int[nodes];
+            for (Brick brick : settled) {
+                int node = brick.id + 1;
+                // Resting on the floor, or on bricks with nothing in common but the floor
+                int dominator = -1;
+                for (Brick supporter : brick.supportedBy)
+                    dominator = dominator < 0 ? supporter.id + 1 : commonDominator(dominator, supporter.id + 1);
+                immediateDominators[node] = Math.max(dominator, 0);
+            }
+
+            subtreeSizes = new int[nodes];
+            for (int node = nodes - 1; node > 0; node--) {
+                subtreeSizes[node]++;
+                subtreeSizes[immediateDominators[node]] += subtreeSizes[node];
+            }
+        }
+
+        /**
+         * @return The nearest node dominating both nodes, walking up from
+         *     whichever is later, as dominators always come earlier.
+         */
+        private int commonDominator(int first, int second) {
+            while (first != second) {
+                if (first > second)
+                    first = immediateDominators[first];
+                else
+                    second = immediateDominators[second];
+            }
+            return first;
+        }
+
+        /**
+         * @return The number of bricks.
+         */
+        int size() {
+            return immediateDominators.length - 1;
+        }
+
+        /**
+         * @return The id of the nearest brick which would make the given one
+         *     fall if it were disintegrated, or -1 if only the floor holds it
+         *     up.
+         */
+        int immediateDominator(int id) {
+            return immediateDominators[id + 1] - 1;
+        }
+
+        /**
+         * @return The number of other bricks which would fall if the given
+         *     brick were disintegrated.
+         */
+        int countFalling(int id) {
+            return subtreeSizes[id + 1] - 1;
+        }
     }
 
-}
\ No newline at end of file
+}
@@ -30,6 +30,7 @@ import com.mxgraph.util.mxCellRenderer;
 import aoc.Coordinate;
 import aoc.Direction;
 import aoc.FileUtils;
+import aoc.Solver;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
@@ -40,7 +41,7 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day23 {
+public class Day23 implements Solver {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day23.class);
 
@@ -117,6 +118,21 @@ public class Day23 {
         log.info("The longest path is: {}", part2(lines));
     }
 
+    @Override
+    public int getDay() {
+        return 23;
+    }
+
+    @Override
+    public long solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+
+    @Override
+    public long solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+
     /**
      * Find the longest hike you can take through the hiking trails listed on your
      * map. How many steps long is the longest hike?
@@ -124,7 +140,7 @@ public class Day23 {
      * @param lines The lines describing the map.
      * @return The longest path.
      */
-    private static int part1(final List<String> lines) {
+    static int part1(final List<String> lines) {
 
         int rows = lines.size();
         int columns = lines.get(0).length();
@@ -233,7 +249,7 @@ public class Day23 {
 
     }
 
-    private static Map<Coordinate, Node> parseNodes(List<String> lines) {
+    static Map<Coordinate, Node> parseNodes(List<String> lines) {
 
         return Coordinate.mapCoordinates(lines, '#')
                          .entrySet()
@@ -250,7 +266,7 @@ public class Day23 {
      * @param lines The lines describing the map.
      * @return The longest path.
      */
-    private static int part2(final List<String> lines) {
+    static int part2(final List<String> lines) {
 
         int rows = lines.size();
         int columns = lines.get(0).length();
@@ -1,5 +1,9 @@
 package aoc._2023;
 
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -11,6 +15,8 @@ import org.slf4j.LoggerFactory;
 import aoc.Coordinate3D;
 import aoc.FileUtils;
 import aoc.LongCoordinate3D;
+import aoc.Snapshot;
+import aoc.Solver;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
@@ -21,7 +27,7 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day24 {
+public class Day24 implements Solver {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day24.class);
 
@@ -88,6 +94,21 @@ public class Day24 {
         log.info("The sum of the coordinates of the starting point of the rock is: {}", part2(lines));
     }
 
+    @Override
+    public int getDay() {
+        return 24;
+    }
+
+    @Override
+    public long solvePart1(final List<String> lines) {
+        return part1(lines, Range.of(200_000_000_000_000L, 400_000_000_000_000L));
+    }
+
+    @Override
+    public long solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+
     /**
      * Considering only the X and Y axes, check all pairs of hailstones' future paths for intersections. How many of
      * these intersections occur within the test area?
@@ -96,20 +117,10 @@ public class Day24 {
      * @param rangeToCheck The range of x and y values within which to look for collisions.
      * @return The number of pairs of hailstone which will cross within the test area.
      */
-    private static int part1(final List<String> lines, Range<Long> rangeToCheck) {
+    static int part1(final List<String> lines, Range<Long> rangeToCheck) {
 
         // Parse the positions and velocities
-        List<Hailstone> hailstones = lines.stream().map(l -> {
-            String[] position = l.split(" @ *")[0].split(", *");
-            String[] velocity = l.split(" @ *")[1].split(", *");
-            return new Hailstone(LongCoordinate3D.of(Long.parseLong(position[0]),
-                                                     Long.parseLong(position[1]),
-                                                     Long.parseLong(position[2])),
-                                 Coordinate3D.of(Integer.parseInt(velocity[0]),
-                                                 Integer.parseInt(velocity[1]),
-                                                 Integer.parseInt(velocity[2])));
-        })
-                                          .collect(Collectors.toList());
+        List<Hailstone> hailstones = loadHailstones(lines);
 
         log.debug("Hailstones:\n{}", hailstones.stream().map(Hailstone::toString).collect(Collectors.joining("\n")));
 
@@ -192,9 +203,54 @@ public class Day24 {
      * @param lines The lines describing each hail stone's position and velocity.
      * @return The sum of the coordinates of the starting point of the rock.
      */
-    private static long part2(final List<String> lines) {
+    static long part2(final List<String> lines) {
         // Parse the positions and velocities
-        List<Hailstone> hailstones = lines.stream().map(l -> {
+        List<Hailstone> hailstones = loadHailstones(lines);
+
+        log.debug("Hailstones:\n{}", hailstones.stream().map(Hailstone::toString).collect(Collectors.joining("\n")));
+
+        return -1;
+    }
+
+    /**
+     * Parse the hailstones, or read them from a {@link Snapshot} of an earlier
+     * parse.
+     */
+    private static List<Hailstone> loadHailstones(final List<String> lines) {
+        return Snapshot.load("Day24-hailstones", lines, Day24::parseHailstones, Day24::writeHailstones,
+                             Day24::readHailstones);
+    }
+
+    private static void writeHailstones(final List<Hailstone> hailstones, final DataOutputStream out)
+            throws IOException {
+        out.writeInt(hailstones.size());
+        for (Hailstone hailstone : hailstones) {
+            out.writeLong(hailstone.position.getRow());
+            out.writeLong(hailstone.position.getColumn());
+            out.writeLong(hailstone.position.getHeight());
+            out.writeInt(hailstone.velocity.getRow());
+            out.writeInt(hailstone.velocity.getColumn());
+            out.writeInt(hailstone.velocity.getHeight());
+        }
+    }
+
+    private static List<Hailstone> readHailstones(final ByteBuffer in) {
+        int count = in.getInt();
+        List<Hailstone> hailstones = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+            hailstones.add(new Hailstone(LongCoordinate3D.of(in.getLong(), in.getLong(), in.getLong()),
+                                         Coordinate3D.of(in.getInt(), in.getInt(), in.getInt())));
+        return hailstones;
+    }
+
+    /**
+     * Parse the positions and velocities of the hailstones.
+     * 
+     * @param lines The lines describing each hail stone's position and velocity.
+     * @return The hailstones, in the order they're listed.
+     */
+    static List<Hailstone> parseHailstones(final List<String> lines) {
+        return lines.stream().map(l -> {
             String[] position = l.split(" @ *")[0].split(", *");
             String[] velocity = l.split(" @ *")[1].split(", *");
             return new Hailstone(LongCoordinate3D.of(Long.parseLong(position[0]),
@@ -204,11 +260,7 @@ public class Day24 {
                                                  Integer.parseInt(velocity[1]),
                                                  Integer.parseInt(velocity[2])));
         })
-                                          .collect(Collectors.toList());
-
-        log.debug("Hailstones:\n{}", hailstones.stream().map(Hailstone::toString).collect(Collectors.joining("\n")));
-
-        return -1;
+                    .collect(Collectors.toList());
     }
 
 }
\ No newline at end of file
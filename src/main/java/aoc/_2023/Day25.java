@@ -23,6 +23,7 @@ import com.mxgraph.layout.hierarchical.mxHierarchicalLayout;
 import com.mxgraph.util.mxCellRenderer;
 
 import aoc.FileUtils;
+import aoc.Solver;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
@@ -33,7 +34,7 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day25 {
+public class Day25 implements Solver {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day25.class);
 
@@ -67,6 +68,22 @@ public class Day25 {
 
     }
 
+    @Override
+    public int getDay() {
+        return 25;
+    }
+
+    @Override
+    public long solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+
+    @Override
+    public long solvePart2(final List<String> lines) {
+        // There's no second part on the last day
+        return -1;
+    }
+
     /**
      * Find the three wires you need to disconnect in order to divide the components into two separate groups. What do
      * you get if you multiply the sizes of these two groups together?
@@ -74,7 +91,7 @@ public class Day25 {
      * @param lines The lines describing the connected components.
      * @return The product of the size of the two sub-divided graphs.
      */
-    private static int part1(final List<String> lines) {
+    static int part1(final List<String> lines) {
         // Parse lines
         Graph<String, DefaultEdge> graph = new DefaultUndirectedGraph<>(DefaultEdge.class);
 
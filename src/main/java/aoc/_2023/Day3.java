@@ -6,7 +6,6 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
@@ -18,6 +17,7 @@ import org.slf4j.LoggerFactory;
 
 import aoc.Coordinate;
 import aoc.FileUtils;
+import aoc.Solver;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
@@ -28,7 +28,7 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day3 {
+public class Day3 implements Solver {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day3.class);
 
@@ -118,13 +118,28 @@ public class Day3 {
         log.info("{}", part2(lines));
     }
 
+    @Override
+    public int getDay() {
+        return 3;
+    }
+
+    @Override
+    public long solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+
+    @Override
+    public long solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+
     /**
      * What is the sum of all of the part numbers in the engine schematic?
      * 
      * @param lines The lines of text to be interpreted as an engine schematic.
      * @return The sum of the part numbers in the schematic.
      */
-    private static int part1(final List<String> lines) {
+    static int part1(final List<String> lines) {
 
         // Map out the locations of the numbers
         Map<Coordinate, FoundNumber> numberLocations = mapNumbers(lines);
@@ -156,14 +171,13 @@ public class Day3 {
         }*/
 
         for (FoundSymbol symbol : symbols) {
-            symbol.location.findAdjacent().stream()
-                           .map(numberLocations::get)
-                           .filter(Objects::nonNull)
-                           .distinct()
-                           .forEach(n -> {
-                               symbol.partNumbers.add(n);
-                               n.part = true;
-                           });
+            symbol.location.forEachAdjacent((r, c) -> {
+                FoundNumber n = numberLocations.get(Coordinate.of(r, c));
+                if (n != null) {
+                    symbol.partNumbers.add(n);
+                    n.part = true;
+                }
+            });
         }
         int sum = numberLocations.values().stream().distinct().filter(n -> n.part).mapToInt(FoundNumber::getValue)
                                  .sum();
@@ -196,7 +210,7 @@ public class Day3 {
                                                               + " wasn't found in the line, starting from index "
                                                               + lastColumn.get() + "\n" + line);*/
                       IntStream.range(0, s.length())
-                               .mapToObj(i -> new Coordinate(row.get(), column + i))
+                               .mapToObj(i -> Coordinate.of(row.get(), column + i))
                                .forEach(c -> {
                                    number.locations.add(c);
                                    numbers.put(c, number);
@@ -227,7 +241,7 @@ public class Day3 {
             for (int column = 0; column < line.length(); column++) {
                 char symbol = line.charAt(column);
                 if (!('.' == symbol || Character.isDigit(symbol)))
-                    symbols.add(new FoundSymbol(symbol, new Coordinate(row, column)));
+                    symbols.add(new FoundSymbol(symbol, Coordinate.of(row, column)));
             }
             row++;
         }
@@ -252,7 +266,7 @@ public class Day3 {
      * @return The sum of the products of the part numbers of gears in the
      *     schematic.
      */
-    private static int part2(final List<String> lines) {
+    static int part2(final List<String> lines) {
 
         // Map out the locations of the numbers
         Map<Coordinate, FoundNumber> numberLocations = mapNumbers(lines);
@@ -262,14 +276,13 @@ public class Day3 {
 
         // For each symbol, find adjacent parts
         for (FoundSymbol symbol : symbols) {
-            symbol.location.findAdjacent().stream()
-                           .map(numberLocations::get)
-                           .filter(Objects::nonNull)
-                           .distinct()
-                           .forEach(n -> {
-                               symbol.partNumbers.add(n);
-                               n.part = true;
-                           });
+            symbol.location.forEachAdjacent((r, c) -> {
+                FoundNumber n = numberLocations.get(Coordinate.of(r, c));
+                if (n != null) {
+                    symbol.partNumbers.add(n);
+                    n.part = true;
+                }
+            });
         }
 
         return symbols.stream()
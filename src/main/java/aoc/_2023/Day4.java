@@ -1,11 +1,12 @@
 package aoc._2023;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
+import java.util.BitSet;
 import java.util.List;
-import java.util.Map;
+import java.util.PrimitiveIterator;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -14,6 +15,8 @@ import org.apache.commons.lang3.math.NumberUtils;
 import org.slf4j.LoggerFactory;
 
 import aoc.FileUtils;
+import aoc.MappedLines;
+import aoc.StreamingSolver;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
@@ -24,7 +27,7 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day4 {
+public class Day4 implements StreamingSolver {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day4.class);
 
@@ -61,6 +64,31 @@ public class Day4 {
         log.info("You end up with {} total scratch cards.", part2(lines));
     }
 
+    @Override
+    public int getDay() {
+        return 4;
+    }
+
+    @Override
+    public long solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+
+    @Override
+    public long solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+
+    @Override
+    public long solvePart1(final Stream<String> lines) {
+        return part1(lines);
+    }
+
+    @Override
+    public long solvePart2(final Stream<String> lines) {
+        return part2(lines);
+    }
+
     /**
      * Given a list of scratch cards, tally the points of each. How many points
      * are they worth in total? Each winning number matched doubles the point
@@ -70,14 +98,38 @@ public class Day4 {
      *            The lines representing the scratch cards.
      * @return The sum of their point values.
      */
-    private static int part1(final List<String> lines) {
+    static int part1(final List<String> lines) {
+        return part1(lines.stream());
+    }
+
+    /**
+     * As {@link #part1(List)}, consuming the lines lazily.
+     */
+    static int part1(final Stream<String> lines) {
 
-        return lines.stream().mapToInt(Day4::countWinningNumbers)
+        return lines.mapToInt(Day4::countWinningNumbers)
                     .map(n -> (int) Math.pow(2, n - 1.0))
                     .sum();
 
     }
 
+    /**
+     * Given a list of scratch cards, tally the points of each. Reads the
+     * numbers straight from the bytes of a mapped file.
+     * 
+     * @param lines
+     *            The mapped lines representing the scratch cards.
+     * @return The sum of their point values.
+     */
+    static int part1(final MappedLines lines) {
+
+        return IntStream.range(0, lines.lineCount())
+                        .map(line -> countWinningNumbers(lines, line))
+                        .map(n -> (int) Math.pow(2, n - 1.0))
+                        .sum();
+
+    }
+
     /**
      * Count the number of winning numbers on this card.
      * 
@@ -107,6 +159,46 @@ public class Day4 {
         return winningNumbers.size();
     }
 
+    /**
+     * Count the number of winning numbers on this card, from its bytes.
+     * 
+     * @param lines
+     *            The mapped lines representing the scratch cards.
+     * @param line
+     *            The index of the line representing the card.
+     * @return The number of winning numbers on this card.
+     */
+    private static int countWinningNumbers(final MappedLines lines, final int line) {
+        ByteBuffer card = lines.lineBytes(line);
+        BitSet winningNumbers = new BitSet();
+        BitSet cardNumbers = new BitSet();
+
+        // Skip the card number, then read numbers into the winning set until the bar
+        int i = 0;
+        while (i < card.limit() && card.get(i) != ':')
+            i++;
+        BitSet numbers = winningNumbers;
+        int number = -1;
+        for (; i < card.limit(); i++) {
+            byte b = card.get(i);
+            if (b >= '0' && b <= '9') {
+                number = (number < 0 ? 0 : number * 10) + (b - '0');
+                continue;
+            }
+
+            if (number >= 0)
+                numbers.set(number);
+            number = -1;
+            if (b == '|')
+                numbers = cardNumbers;
+        }
+        if (number >= 0)
+            numbers.set(number);
+
+        winningNumbers.and(cardNumbers);
+        return winningNumbers.cardinality();
+    }
+
     /**
      * Winning matches result in copies of subsequent cards. How many total
      * scratch cards do you end up with?
@@ -115,30 +207,53 @@ public class Day4 {
      *            The lines representing scratch cards.
      * @return The total number of scratch cards.
      */
-    private static int part2(final List<String> lines) {
-
-        Map<Integer, AtomicInteger> cards = new HashMap<>();
-
-        // Initialise the cards map with the number of cards at the start
-        int totalCards = lines.size();
-        IntStream.rangeClosed(1, totalCards)
-                 .forEach(i -> cards.put(i, new AtomicInteger(1)));
+    static long part2(final List<String> lines) {
+        return part2(lines.stream());
+    }
 
-        int cardNumber = 1;
-        for (String line : lines) {
-            // Count the matches
-            int matches = countWinningNumbers(line);
+    /**
+     * As {@link #part2(List)}, consuming the lines lazily. Only the copies won
+     * for the next few cards are kept, rather than a count for every card, so
+     * the memory needed doesn't grow with the number of cards.
+     */
+    static long part2(final Stream<String> lines) {
+        return countCards(lines.mapToInt(Day4::countWinningNumbers));
+    }
 
-            int numberOfCards = cards.get(cardNumber).get();
-            // Add that many, times the number of those cards, to the map
-            IntStream.rangeClosed(cardNumber + 1, cardNumber + matches)
-                     .filter(i -> i <= totalCards)
-                     .forEach(i -> cards.get(i).accumulateAndGet(numberOfCards, Math::addExact));
+    /**
+     * As {@link #part2(List)}, reading the numbers straight from the bytes of
+     * a mapped file.
+     */
+    static long part2(final MappedLines lines) {
+        return countCards(IntStream.range(0, lines.lineCount()).map(line -> countWinningNumbers(lines, line)));
+    }
 
-            cardNumber++;
+    /**
+     * Count the scratch cards won, given the number of winning numbers on each
+     * card in order.
+     */
+    private static long countCards(final IntStream cardMatches) {
+
+        // The extra copies won of each of the cards after the current one
+        List<Long> pendingCopies = new ArrayList<>();
+
+        long totalCards = 0;
+        for (PrimitiveIterator.OfInt cards = cardMatches.iterator(); cards.hasNext();) {
+            long numberOfCards = 1 + (pendingCopies.isEmpty() ? 0 : pendingCopies.remove(0));
+            totalCards = Math.addExact(totalCards, numberOfCards);
+
+            // Add that many copies of each of the next cards for each match
+            int matches = cards.nextInt();
+            for (int i = 0; i < matches; i++) {
+                if (i < pendingCopies.size())
+                    pendingCopies.set(i, Math.addExact(pendingCopies.get(i), numberOfCards));
+                else
+                    pendingCopies.add(numberOfCards);
+            }
         }
 
-        return cards.values().stream().mapToInt(AtomicInteger::get).sum();
+        // Copies won of cards past the end of the table are ignored
+        return totalCards;
     }
 
 }
\ No newline at end of file
@@ -1,5 +1,8 @@
 package aoc._2023;
 
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -10,12 +13,16 @@ import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 import org.apache.commons.lang3.Range;
 import org.slf4j.LoggerFactory;
 
 import aoc.FileUtils;
+import aoc.MappedLines;
+import aoc.Snapshot;
+import aoc.Solver;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
@@ -26,7 +33,7 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day5 {
+public class Day5 implements Solver {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day5.class);
 
@@ -91,6 +98,21 @@ public class Day5 {
         log.info("The lowest location number is {}", part2(lines));
     }
 
+    @Override
+    public int getDay() {
+        return 5;
+    }
+
+    @Override
+    public long solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+
+    @Override
+    public long solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+
     /**
      * What is the lowest location number that corresponds to any of the initial
      * seed numbers?
@@ -100,7 +122,7 @@ public class Day5 {
      * @return The lowest location number that corresponds to any of the initial
      *         seed numbers.
      */
-    private static long part1(final List<String> lines) {
+    static long part1(final List<String> lines) {
 
         // Seeds: the first line is seeds
         List<Long> seeds = Stream.of(lines.get(0).substring(7).split(" "))
@@ -109,7 +131,25 @@ public class Day5 {
         log.debug("Seeds: {}", seeds);
 
         // Parse lines into almanac list
-        List<List<AlmanacMap>> almanacMaps = parseAlmanac(lines.subList(2, lines.size()));
+        return lowestLocation(seeds, loadAlmanac(lines));
+    }
+
+    /**
+     * As {@link #part1(List)}, reading the numbers straight from the bytes of
+     * a mapped file.
+     */
+    static long part1(final MappedLines lines) {
+        List<Long> seeds = LongStream.of(lines.parseLongs(0)).boxed().collect(Collectors.toList());
+        log.debug("Seeds: {}", seeds);
+
+        return lowestLocation(seeds, parseAlmanac(lines));
+    }
+
+    /**
+     * @return The lowest location number that the almanac maps any of the
+     *     seeds to.
+     */
+    private static long lowestLocation(final List<Long> seeds, final List<List<AlmanacMap>> almanacMaps) {
 
         // Translate all seeds, and find lowest value
         return seeds.stream().mapToLong(s -> {
@@ -130,7 +170,39 @@ public class Day5 {
 
     }
 
-    private static List<List<AlmanacMap>> parseAlmanac(List<String> lines) {
+    /**
+     * Parse the almanac maps, which start on the third line, or read them from
+     * a {@link Snapshot} of an earlier parse.
+     */
+    private static List<List<AlmanacMap>> loadAlmanac(List<String> lines) {
+        return Snapshot.load("Day5-almanac", lines, l -> parseAlmanac(l.subList(2, l.size())),
+                             Day5::writeAlmanac, Day5::readAlmanac);
+    }
+
+    private static void writeAlmanac(List<List<AlmanacMap>> almanac, DataOutputStream out) throws IOException {
+        out.writeInt(almanac.size());
+        for (List<AlmanacMap> stage : almanac) {
+            out.writeInt(stage.size());
+            for (AlmanacMap map : stage) {
+                out.writeLong(map.idRange.getMinimum());
+                out.writeLong(map.idRange.getMaximum());
+                out.writeLong(map.translationValue);
+            }
+        }
+    }
+
+    private static List<List<AlmanacMap>> readAlmanac(ByteBuffer in) {
+        List<List<AlmanacMap>> almanac = new ArrayList<>();
+        for (int stages = in.getInt(); stages > 0; stages--) {
+            List<AlmanacMap> stage = new ArrayList<>();
+            for (int maps = in.getInt(); maps > 0; maps--)
+                stage.add(new AlmanacMap(in.getLong(), in.getLong(), in.getLong()));
+            almanac.add(stage);
+        }
+        return almanac;
+    }
+
+    static List<List<AlmanacMap>> parseAlmanac(List<String> lines) {
         List<List<AlmanacMap>> almanac = new ArrayList<>();
 
         List<AlmanacMap> currentMap = null;
@@ -158,13 +230,67 @@ public class Day5 {
         return almanac;
     }
 
-    private static long part2(final List<String> lines) {
+    /**
+     * Parse the almanac maps, which start on the third line, straight from
+     * the bytes of a mapped file.
+     */
+    static List<List<AlmanacMap>> parseAlmanac(MappedLines lines) {
+        List<List<AlmanacMap>> almanac = new ArrayList<>();
+
+        List<AlmanacMap> currentMap = null;
+        for (int line = 2; line < lines.lineCount(); line++) {
+            // Skip blank lines
+            if (lines.lineLength(line) == 0)
+                continue;
+
+            // Start new maps
+            byte first = lines.lineBytes(line).get(0);
+            if (first < '0' || first > '9') {
+                log.trace("Starting {}", lines.line(line));
+                currentMap = new ArrayList<>();
+                almanac.add(currentMap);
+                continue;
+            }
+
+            // Parse AlmanacMap
+            long[] values = lines.parseLongs(line);
+            long start = values[1];
+            long length = values[2];
+            long difference = values[0] - start;
+            currentMap.add(new AlmanacMap(start, start + length - 1, difference));
+        }
+
+        return almanac;
+    }
+
+    static long part2(final List<String> lines) {
 
         // Seeds: the first line is ranges of seeds
         List<Long> inputNumbers = Stream.of(lines.get(0).substring(7).split(" "))
                                         .map(Long::valueOf)
                                         .collect(Collectors.toList());
 
+        // Parse lines into almanac list
+        return lowestLocationOfRanges(inputNumbers, loadAlmanac(lines));
+    }
+
+    /**
+     * As {@link #part2(List)}, reading the numbers straight from the bytes of
+     * a mapped file.
+     */
+    static long part2(final MappedLines lines) {
+        List<Long> inputNumbers = LongStream.of(lines.parseLongs(0)).boxed().collect(Collectors.toList());
+
+        return lowestLocationOfRanges(inputNumbers, parseAlmanac(lines));
+    }
+
+    /**
+     * @return The lowest location number that the almanac maps any seed in
+     *     the ranges to, given as pairs of start and length.
+     */
+    private static long lowestLocationOfRanges(final List<Long> inputNumbers,
+                                               final List<List<AlmanacMap>> almanacMaps) {
+
         List<Range<Long>> seeds = IntStream.range(0, inputNumbers.size() / 2)
                                            .mapToObj(i -> {
                                                Long start = inputNumbers.get(i * 2);
@@ -174,9 +300,6 @@ public class Day5 {
                                            .collect(Collectors.toList());
 
         log.debug("Seeds: {}", seeds);
-
-        // Parse lines into almanac list
-        List<List<AlmanacMap>> almanacMaps = parseAlmanac(lines.subList(2, lines.size()));
         log.debug("Almanac:\n{}", almanacMaps.stream().map(List::toString).collect(Collectors.joining("\n")));
 
         // Translate all seed ranges, and find lowest value
@@ -9,6 +9,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.LoggerFactory;
 
 import aoc.FileUtils;
+import aoc.Solver;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
@@ -19,7 +20,7 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day6 {
+public class Day6 implements Solver {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day6.class);
 
@@ -56,6 +57,21 @@ public class Day6 {
         log.info("The the number of ways the race can be won is {}", part2(lines));
     }
 
+    @Override
+    public int getDay() {
+        return 6;
+    }
+
+    @Override
+    public long solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+
+    @Override
+    public long solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+
     /**
      * Determine the number of ways you could beat the record in each race. What
      * do you get if you multiply these numbers together?
@@ -64,7 +80,7 @@ public class Day6 {
      *            The two lines showing the times and distances for the race.
      * @return The product of the number of ways each race could be won.
      */
-    private static int part1(final List<String> lines) {
+    static int part1(final List<String> lines) {
         int[] times = Stream.of(lines.get(0).split(" +"))
                             .filter(StringUtils::isNumeric)
                             .mapToInt(Integer::parseInt)
@@ -96,7 +112,7 @@ public class Day6 {
      *            digits are to be ignored.
      * @return The number of ways that the race can be won.
      */
-    private static long part2(final List<String> lines) {
+    static long part2(final List<String> lines) {
 
         long time = Long.parseLong(StringUtils.getDigits(lines.get(0)));
         long distance = Long.parseLong(StringUtils.getDigits(lines.get(1)));
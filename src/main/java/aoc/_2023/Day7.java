@@ -13,6 +13,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.LoggerFactory;
 
 import aoc.FileUtils;
+import aoc.Solver;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
@@ -23,7 +24,7 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day7 {
+public class Day7 implements Solver {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day7.class);
 
@@ -163,6 +164,21 @@ public class Day7 {
         log.info("The new total winnings are: {} (should be higher than 241254630 and 243092105)", part2(lines));
     }
 
+    @Override
+    public int getDay() {
+        return 7;
+    }
+
+    @Override
+    public long solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+
+    @Override
+    public long solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+
     /**
      * What are the total winnings?
      * 
@@ -170,7 +186,7 @@ public class Day7 {
      *            The lines representing card hands
      * @return The total winnings for the card hands
      */
-    private static int part1(final List<String> lines) {
+    static int part1(final List<String> lines) {
 
         AtomicInteger ordinal = new AtomicInteger(1);
         AtomicInteger sum = new AtomicInteger(0);
@@ -190,7 +206,7 @@ public class Day7 {
      *            The lines representing card hands
      * @return The total winnings for the card hands
      */
-    private static int part2(final List<String> lines) {
+    static int part2(final List<String> lines) {
 
         AtomicInteger ordinal = new AtomicInteger(1);
         AtomicInteger sum = new AtomicInteger(0);
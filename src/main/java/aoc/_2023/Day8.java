@@ -13,6 +13,7 @@ import java.util.stream.Collectors;
 import org.slf4j.LoggerFactory;
 
 import aoc.FileUtils;
+import aoc.Solver;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
@@ -23,7 +24,7 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day8 {
+public class Day8 implements Solver {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day8.class);
 
@@ -107,6 +108,21 @@ public class Day8 {
         log.info("It takes {} steps for all starting nodes to reach the end.", part2(lines));
     }
 
+    @Override
+    public int getDay() {
+        return 8;
+    }
+
+    @Override
+    public long solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+
+    @Override
+    public long solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+
     /**
      * How many steps are required to reach ZZZ?
      * 
@@ -115,7 +131,7 @@ public class Day8 {
      *            definitions.
      * @return The number of steps between AAA and ZZZ
      */
-    private static int part1(final List<String> lines) {
+    static int part1(final List<String> lines) {
 
         String[] steps = lines.get(0).split("");
 
@@ -161,7 +177,7 @@ public class Day8 {
      * @return The number of steps of a equal path from all nodes ending in "A"
      *         to any node ending in "Z".
      */
-    private static long part2(final List<String> lines) {
+    static long part2(final List<String> lines) {
 
         String[] steps = lines.get(0).split("");
         log.debug("Steps: {}", lines.get(0));
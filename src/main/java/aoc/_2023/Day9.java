@@ -2,11 +2,15 @@ package aoc._2023;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.slf4j.LoggerFactory;
 
 import aoc.FileUtils;
+import aoc.MappedLines;
+import aoc.StreamingSolver;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
@@ -17,7 +21,7 @@ import ch.qos.logback.classic.LoggerContext;
  * @author Paul Cormier
  *
  */
-public class Day9 {
+public class Day9 implements StreamingSolver {
 
     private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Day9.class);
 
@@ -54,6 +58,31 @@ public class Day9 {
         log.info("The sum of the extrapolated values is: {}", part2(lines));
     }
 
+    @Override
+    public int getDay() {
+        return 9;
+    }
+
+    @Override
+    public long solvePart1(final List<String> lines) {
+        return part1(lines);
+    }
+
+    @Override
+    public long solvePart2(final List<String> lines) {
+        return part2(lines);
+    }
+
+    @Override
+    public long solvePart1(final Stream<String> lines) {
+        return part1(lines);
+    }
+
+    @Override
+    public long solvePart2(final Stream<String> lines) {
+        return part2(lines);
+    }
+
     /**
      * What is the sum of these extrapolated values?
      * 
@@ -61,15 +90,36 @@ public class Day9 {
      *     estimated.
      * @return The sum of the extrapolated values for each sequence.
      */
-    private static int part1(final List<String> lines) {
-        return lines.stream()
-                    .map(l -> Arrays.asList(l.split(" "))
+    static int part1(final List<String> lines) {
+        return part1(lines.stream());
+    }
+
+    /**
+     * As {@link #part1(List)}, consuming the lines lazily.
+     */
+    static int part1(final Stream<String> lines) {
+        return lines.map(l -> Arrays.asList(l.split(" "))
                                     .stream()
                                     .mapToInt(Integer::valueOf).toArray())
                     .mapToInt(Day9::findNextValue)
                     .sum();
     }
 
+    /**
+     * What is the sum of these extrapolated values? Reads the values straight
+     * from the bytes of a mapped file.
+     * 
+     * @param lines The mapped sequences of values for which the next digits
+     *     need to be estimated.
+     * @return The sum of the extrapolated values for each sequence.
+     */
+    static int part1(final MappedLines lines) {
+        return IntStream.range(0, lines.lineCount())
+                        .mapToObj(lines::parseInts)
+                        .mapToInt(Day9::findNextValue)
+                        .sum();
+    }
+
     /**
      * Find the next number in the given sequence of numbers.
      * 
@@ -107,10 +157,16 @@ public class Day9 {
      *     estimated.
      * @return The sum of the extrapolated values for each sequence.
      */
-    private static int part2(final List<String> lines) {
+    static int part2(final List<String> lines) {
+        return part2(lines.stream());
+    }
 
-        return lines.stream()
-                    .map(l -> Arrays.asList(l.split(" "))
+    /**
+     * As {@link #part2(List)}, consuming the lines lazily.
+     */
+    static int part2(final Stream<String> lines) {
+
+        return lines.map(l -> Arrays.asList(l.split(" "))
                                     .stream()
                                     .mapToInt(Integer::valueOf).toArray())
                     .map(a -> {
@@ -121,4 +177,23 @@ public class Day9 {
                     .sum();
     }
 
-}
\ No newline at end of file
+    /**
+     * What is the sum of these extrapolated values? Reads the values straight
+     * from the bytes of a mapped file.
+     * 
+     * @param lines The mapped sequences of values for which the previous digits
+     *     need to be estimated.
+     * @return The sum of the extrapolated values for each sequence.
+     */
+    static int part2(final MappedLines lines) {
+        return IntStream.range(0, lines.lineCount())
+                        .mapToObj(lines::parseInts)
+                        .map(a -> {
+                            ArrayUtils.reverse(a);
+                            return a;
+                        })
+                        .mapToInt(Day9::findNextValue)
+                        .sum();
+    }
+
+}
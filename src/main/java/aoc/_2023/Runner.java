@@ -0,0 +1,204 @@
+package aoc._2023;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.slf4j.LoggerFactory;
+
+import aoc.Metrics;
+import aoc.Solver;
+import aoc.StreamingSolver;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+
+/**
+ * Run all of the days' puzzles in one JVM, concurrently, and report how long
+ * each one took and how much memory it allocated.
+ * <p>
+ * Arguments: [--stream] [threads] [timeout in seconds] [metrics file]. The
+ * number of threads defaults to the number of available processors, and the
+ * timeout to 5 minutes. If a metrics file is given, all of the
+ * {@link Metrics} recorded while running are written to it, as JSON if it
+ * ends with ".json", otherwise as CSV.
+ * <p>
+ * With --stream, the days which are {@link StreamingSolver}s read their input
+ * lazily for each part, rather than parsing it all up front, so their peak
+ * memory doesn't grow with the size of the input. The other days run as
+ * usual.
+ * 
+ * @author Paul Cormier
+ *
+ */
+public class Runner {
+
+    private static final Logger log = ((LoggerContext) LoggerFactory.getILoggerFactory()).getLogger(Runner.class);
+
+    private static final List<Supplier<Solver>> DAYS = List.of(Day1::new, Day2::new, Day3::new, Day4::new, Day5::new,
+                                                               Day6::new, Day7::new, Day8::new, Day9::new, Day10::new,
+                                                               Day11::new, Day12::new, Day13::new, Day14::new,
+                                                               Day15::new, Day16::new, Day17::new, Day18::new,
+                                                               Day19::new, Day20::new, Day21::new, Day22::new,
+                                                               Day23::new, Day24::new, Day25::new);
+
+    private static final int DEFAULT_TIMEOUT_SECONDS = 300;
+
+    private static final String STREAM_OPTION = "--stream";
+
+    /**
+     * The answers and measurements from running one day.
+     */
+    private static final class Result {
+        private final int day;
+        private long part1;
+        private long part2;
+        private long parseNanos;
+        private long part1Nanos;
+        private long part2Nanos;
+        private long allocatedBytes = -1;
+        private Throwable error;
+
+        private Result(int day) {
+            this.day = day;
+        }
+
+        private String format() {
+            return String.format("%3d  %16d  %16d  %9.1f  %9.1f  %9.1f  %10s",
+                                 day, part1, part2,
+                                 parseNanos / 1e6, part1Nanos / 1e6, part2Nanos / 1e6,
+                                 allocatedBytes < 0 ? "n/a" : String.format("%.1f", allocatedBytes / 1048576.));
+        }
+    }
+
+    public static void main(String[] args) {
+
+        boolean streaming = args.length > 0 && STREAM_OPTION.equals(args[0]);
+        if (streaming)
+            args = Arrays.copyOfRange(args, 1, args.length);
+
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int timeout = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_TIMEOUT_SECONDS;
+        String metricsFile = args.length > 2 ? args[2] : null;
+
+        log.info("Running {} days on {} threads{}.", DAYS.size(), threads, streaming ? ", streaming" : "");
+
+        // Use daemon threads, so a day which never finishes doesn't keep the JVM alive
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r);
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long start = System.nanoTime();
+        List<Future<Result>> futures = new ArrayList<>();
+        DAYS.forEach(day -> futures.add(pool.submit(() -> run(day.get(), streaming))));
+        pool.shutdown();
+
+        long deadline = start + TimeUnit.SECONDS.toNanos(timeout);
+        StringBuilder table = new StringBuilder(String.format("%3s  %16s  %16s  %9s  %9s  %9s  %10s%n",
+                                                              "Day", "Part 1", "Part 2",
+                                                              "Parse ms", "Part 1 ms", "Part 2 ms", "Alloc MB"));
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                Result result = futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                table.append(result.format());
+                if (result.error != null)
+                    table.append("  failed: ").append(result.error);
+            } catch (TimeoutException e) {
+                table.append(String.format("%3d  did not finish in %d seconds", i + 1, timeout));
+            } catch (ExecutionException e) {
+                table.append(String.format("%3d  failed: %s", i + 1, e.getCause()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            table.append('\n');
+        }
+
+        log.info("Results:\n{}", table);
+        log.info("Total wall-clock time: {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        if (metricsFile != null) {
+            try {
+                Metrics.write(Paths.get(metricsFile));
+                log.info("Metrics written to {}", metricsFile);
+            } catch (IOException e) {
+                log.error("Couldn't write the metrics to {}", metricsFile, e);
+            }
+        }
+    }
+
+    /**
+     * Parse the input and solve both parts of a day's puzzle, recording the
+     * time taken by each phase and the memory allocated by the current thread
+     * in the {@link Metrics}, e.g. as "Day5.parse", "Day5.part1" and
+     * "Day5.part2".
+     * 
+     * @param solver
+     *     The solver for the day's puzzle.
+     * @param streaming
+     *     Whether a {@link StreamingSolver} should read its input lazily for
+     *     each part, instead of it being parsed up front.
+     * @return The answers and measurements.
+     */
+    private static Result run(Solver solver, boolean streaming) {
+        Result result = new Result(solver.getDay());
+        String name = "Day" + solver.getDay();
+        long startAllocated = Metrics.allocatedBytes();
+
+        try {
+            if (streaming && solver instanceof StreamingSolver) {
+                runStreaming((StreamingSolver) solver, name, result);
+            } else {
+                Metrics.Phase phase = Metrics.phase(name + ".parse");
+                List<String> lines = solver.parse();
+                result.parseNanos = phase.stop();
+
+                phase = Metrics.phase(name + ".part1");
+                result.part1 = solver.solvePart1(lines);
+                result.part1Nanos = phase.stop();
+
+                phase = Metrics.phase(name + ".part2");
+                result.part2 = solver.solvePart2(lines);
+                result.part2Nanos = phase.stop();
+            }
+        } catch (RuntimeException | StackOverflowError e) {
+            result.error = e;
+            Metrics.increment(name + ".errors");
+        }
+
+        if (startAllocated >= 0)
+            result.allocatedBytes = Metrics.allocatedBytes() - startAllocated;
+
+        return result;
+    }
+
+    /**
+     * Solve both parts of a day's puzzle, each from a fresh lazy stream of the
+     * input, so reading the input is timed as part of each part.
+     */
+    private static void runStreaming(StreamingSolver solver, String name, Result result) {
+        Metrics.Phase phase = Metrics.phase(name + ".part1");
+        try (Stream<String> lines = solver.streamInput()) {
+            result.part1 = solver.solvePart1(lines);
+        }
+        result.part1Nanos = phase.stop();
+
+        phase = Metrics.phase(name + ".part2");
+        try (Stream<String> lines = solver.streamInput()) {
+            result.part2 = solver.solvePart2(lines);
+        }
+        result.part2Nanos = phase.stop();
+    }
+
+}
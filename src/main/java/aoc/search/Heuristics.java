@@ -0,0 +1,50 @@
+package aoc.search;
+
+import java.util.function.IntUnaryOperator;
+
+import aoc.Coordinate;
+import aoc.Grid;
+
+/**
+ * Heuristics for {@link ShortestPath#withHeuristic(IntUnaryOperator)}.
+ *
+ * @author Paul Cormier
+ *
+ */
+public final class Heuristics {
+
+    /**
+     * Utility classes have private constructors.
+     */
+    private Heuristics() {
+    }
+
+    /**
+     * Estimate the cost from a state to the goal as the Manhattan distance
+     * from its cell to the goal's, times the least any orthogonal step costs.
+     * That never overestimates, and changes by at most one step's cost per
+     * move, so it's consistent, as long as each move is one orthogonal step
+     * (or none).
+     *
+     * @param grid
+     *     The grid the cells are in.
+     * @param goal
+     *     The cell of the goal.
+     * @param cellOf
+     *     Gives the index in the grid of the cell of a state.
+     * @param minStepCost
+     *     The least any step costs.
+     * @return The heuristic.
+     */
+    public static IntUnaryOperator manhattan(final Grid grid, final Coordinate goal, final IntUnaryOperator cellOf,
+                                             final int minStepCost) {
+        int goalRow = goal.getRow();
+        int goalColumn = goal.getColumn();
+        return state -> {
+            int cell = cellOf.applyAsInt(state);
+            return minStepCost * Coordinate.manhattanDistance(grid.rowOf(cell), grid.columnOf(cell), goalRow,
+                                                              goalColumn);
+        };
+    }
+
+}
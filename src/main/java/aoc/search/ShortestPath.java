@@ -0,0 +1,198 @@
+package aoc.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+import aoc.BucketQueue;
+
+/**
+ * Finds the cheapest way from any of the start states of a
+ * {@link StateSpace} to a goal state, with Dijkstra's algorithm, or A* if
+ * there's a heuristic, e.g.
+ *
+ * <pre>
+ * Optional&lt;ShortestPath.Path&gt; path = ShortestPath.in(space)
+ *                                          .from(start)
+ *                                          .withHeuristic(Heuristics.manhattan(grid, goal, s -&gt; s, 1))
+ *                                          .to(s -&gt; s == goalState);
+ * </pre>
+ * <p>
+ * The costs found so far, and the states already settled, are kept in an int
+ * array and a {@link BitSet} indexed by state, and the open states in a
+ * {@link BucketQueue}, so nothing is allocated per state.
+ *
+ * @author Paul Cormier
+ *
+ */
+public final class ShortestPath {
+
+    private final StateSpace space;
+    private int[] starts = new int[0];
+    private IntUnaryOperator heuristic;
+
+    /**
+     * The cheapest way found to a goal.
+     */
+    public static final class Path {
+        private final int cost;
+        private final int goal;
+        private final int statesSettled;
+        private final int[] previous;
+
+        private Path(int cost, int goal, int statesSettled, int[] previous) {
+            this.cost = cost;
+            this.goal = goal;
+            this.statesSettled = statesSettled;
+            this.previous = previous;
+        }
+
+        /**
+         * @return The total cost of the moves.
+         */
+        public int getCost() {
+            return cost;
+        }
+
+        /**
+         * @return The goal state reached.
+         */
+        public int getGoal() {
+            return goal;
+        }
+
+        /**
+         * @return The number of states whose cheapest cost was found by the
+         *     search, including the goal.
+         */
+        public int getStatesSettled() {
+            return statesSettled;
+        }
+
+        /**
+         * @return The states along the path, from the start to the goal.
+         */
+        public int[] getStates() {
+            int length = 0;
+            for (int state = goal; state >= 0; state = previous[state])
+                length++;
+            int[] states = new int[length];
+            for (int state = goal; state >= 0; state = previous[state])
+                states[--length] = state;
+            return states;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Path [cost=%d, goal=%d, statesSettled=%d]", cost, goal, statesSettled);
+        }
+    }
+
+    private ShortestPath(StateSpace space) {
+        this.space = space;
+    }
+
+    /**
+     * @param space
+     *     The states to search.
+     * @return A search of the states, without any start states yet.
+     */
+    public static ShortestPath in(StateSpace space) {
+        return new ShortestPath(space);
+    }
+
+    /**
+     * @param starts
+     *     The states to start from, all at no cost.
+     * @return This search.
+     */
+    public ShortestPath from(int... starts) {
+        this.starts = starts.clone();
+        return this;
+    }
+
+    /**
+     * Search with A*, guided by a heuristic, rather than Dijkstra's algorithm.
+     * The heuristic must be consistent, i.e. never more than the cost of a
+     * move plus the estimate from the state moved to, and 0 at the goals.
+     * It also mustn't go up by more than {@link StateSpace#maxCost()} in a
+     * move, so that the open states fit in the {@link BucketQueue}.
+     *
+     * @param heuristic
+     *     Estimates the cost from a state to the nearest goal.
+     * @return This search.
+     */
+    public ShortestPath withHeuristic(IntUnaryOperator heuristic) {
+        this.heuristic = heuristic;
+        return this;
+    }
+
+    /**
+     * Run the search.
+     *
+     * @param goal
+     *     Whether a state is a goal.
+     * @return The cheapest path to a goal, or empty if none can be reached.
+     */
+    public Optional<Path> to(IntPredicate goal) {
+        int[] costs = new int[space.size()];
+        Arrays.fill(costs, Integer.MAX_VALUE);
+        int[] previous = new int[space.size()];
+        Arrays.fill(previous, -1);
+        BitSet settled = new BitSet(space.size());
+        int[] neighbours = new int[space.maxNeighbours()];
+
+        // The queue's priorities only go up, so push the starts in order of their estimates
+        int[] sortedStarts = Arrays.stream(starts)
+                                   .boxed()
+                                   .sorted(Comparator.comparingInt(this::estimate))
+                                   .mapToInt(Integer::intValue)
+                                   .toArray();
+        int startSpread = starts.length == 0 ? 0
+                : estimate(sortedStarts[sortedStarts.length - 1]) - estimate(sortedStarts[0]);
+
+        // With a heuristic, a neighbour's priority can be up to two moves' cost above the state's
+        BucketQueue open = new BucketQueue(Math.max(startSpread,
+                                                    heuristic == null ? space.maxCost() : 2 * space.maxCost()));
+        for (int start : sortedStarts) {
+            costs[start] = 0;
+            open.push(start, estimate(start));
+        }
+
+        int statesSettled = 0;
+        while (!open.isEmpty()) {
+            int state = open.pop();
+            // A stale copy of a state already settled more cheaply
+            if (settled.get(state))
+                continue;
+            settled.set(state);
+            statesSettled++;
+
+            if (goal.test(state))
+                return Optional.of(new Path(costs[state], state, statesSettled, previous));
+
+            int neighbourCount = space.neighbours(state, neighbours);
+            for (int i = 0; i < neighbourCount; i++) {
+                int neighbour = neighbours[i];
+                if (settled.get(neighbour))
+                    continue;
+                int cost = costs[state] + space.cost(state, neighbour);
+                if (cost < costs[neighbour]) {
+                    costs[neighbour] = cost;
+                    previous[neighbour] = state;
+                    open.push(neighbour, cost + estimate(neighbour));
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private int estimate(int state) {
+        return heuristic == null ? 0 : heuristic.applyAsInt(state);
+    }
+
+}
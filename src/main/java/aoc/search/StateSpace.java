@@ -0,0 +1,48 @@
+package aoc.search;
+
+/**
+ * The states of a puzzle, and the moves between them, for
+ * {@link ShortestPath} to search. Each state is an int from 0 to
+ * {@link #size()} - 1, e.g. a grid cell's index, or a cell's index combined
+ * with a direction, so the search can keep everything it knows about the
+ * states in arrays.
+ *
+ * @author Paul Cormier
+ *
+ */
+public interface StateSpace {
+
+    /**
+     * @return The number of states.
+     */
+    int size();
+
+    /**
+     * @return The most neighbours any state has.
+     */
+    int maxNeighbours();
+
+    /**
+     * Find the states one move away from a state.
+     *
+     * @param state
+     *     The state to move from.
+     * @param neighbours
+     *     Filled in with the neighbouring states, from the start; at least
+     *     {@link #maxNeighbours()} long.
+     * @return The number of neighbouring states.
+     */
+    int neighbours(int state, int[] neighbours);
+
+    /**
+     * @return The cost of moving from one state to a neighbouring one, from 0
+     *     to {@link #maxCost()}.
+     */
+    int cost(int from, int to);
+
+    /**
+     * @return The most any move costs.
+     */
+    int maxCost();
+
+}